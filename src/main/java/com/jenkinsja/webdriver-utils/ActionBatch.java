@@ -0,0 +1,136 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Clicks and text entries queued by a page object in batching mode.
+ * The queue is performed by script, as many actions per command as possible;
+ * whatever the script cannot perform is left to the page object to perform
+ * through the driver, in order.
+ */
+final class ActionBatch {
+
+    /**
+     * A queued click, or text entry in the input mode when it has keys
+     */
+    static final class Action {
+        final WebElement element;
+        final String keys;
+        final String name;
+        final InputMode mode;
+
+        Action(WebElement element, String keys, String name, InputMode mode){
+            this.element = element;
+            this.keys = keys;
+            this.name = name;
+            this.mode = mode;
+        }
+    }
+
+    /**
+     * Answers the index of the first action it did not perform.
+     * Clicks are only performed on elements a user could click: displayed, enabled,
+     * and not covered by another element at their centre; the rest are left to the
+     * page's wait-and-click path. A click ends the script, so if it navigates, the
+     * actions after it are not applied to the document it left.
+     * Text is only set in textareas and text-like inputs, as SendKeys would set it by script.
+     * With delta input, fields already holding their text are left alone.
+     */
+    private static final String SCRIPT =
+            ScriptInput.SET_TEXT_FUNCTION
+            + ElementStates.STATE_FUNCTION
+            + "function clickable(e) {"
+            + "  if (state(e) !== " + ElementStates.CLICKABLE + ") return false;"
+            + "  var r = e.getBoundingClientRect();"
+            + "  var hit = document.elementFromPoint(r.left + r.width / 2, r.top + r.height / 2);"
+            + "  return hit !== null && (hit === e || e.contains(hit));"
+            + "}"
+            + "var elements = arguments[0], values = arguments[1], delta = arguments[2];"
+            + "for (var i = 0; i < elements.length; i++) {"
+            + "  var e = elements[i];"
+            + "  try {"
+            + "    if (values[i] === null) {"
+            + "      if (!clickable(e)) return i;"
+            + "      e.click();"
+            + "      return i + 1;"
+            + "    } else if (delta && e.value === values[i]) {"
+            + "      continue;"
+            + "    } else if (!setText(e, values[i])) {"
+            + "      return i;"
+            + "    }"
+            + "  } catch (err) {"
+            + "    return i;"
+            + "  }"
+            + "}"
+            + "return elements.length;";
+
+    private final WebDriver driver;
+    private final List<Action> queued = new ArrayList<Action>();
+    private boolean scriptsSupported;
+
+    ActionBatch(WebDriver driver){
+        this.driver = driver;
+        this.scriptsSupported = driver instanceof JavascriptExecutor;
+    }
+
+    void Click(WebElement element, String name){
+        queued.add(new Action(element, null, name, null));
+    }
+
+    void SendKeys(WebElement element, String keys, String name, InputMode mode){
+        queued.add(new Action(element, keys, name, mode));
+    }
+
+    /**
+     * Take the queued actions, leaving the queue empty
+     */
+    List<Action> Drain(){
+        List<Action> actions = new ArrayList<Action>(queued);
+        queued.clear();
+        return actions;
+    }
+
+    /**
+     * Perform actions from the given index by script, up to the first one holding Keys
+     * or to be typed in KEYSTROKES mode, and at most up to the first click. With delta input, text a field already holds
+     * is not set again. Answers the index of the first action not performed.
+     */
+    int RunScript(List<Action> actions, int from, boolean deltaInput){
+        if (!scriptsSupported){
+            return from;
+        }
+        List<WebElement> elements = new ArrayList<WebElement>();
+        List<String> values = new ArrayList<String>();
+        for (int i = from; i < actions.size(); i++){
+            Action action = actions.get(i);
+            if (action.keys != null && (action.mode == InputMode.KEYSTROKES || ScriptInput.HasSpecialKeys(action.keys))){
+                break;
+            }
+            elements.add(action.element);
+            values.add(action.keys);
+        }
+        if (elements.isEmpty()){
+            return from;
+        }
+        try{
+            Object performed = ((JavascriptExecutor)driver).executeScript(SCRIPT, elements, values, deltaInput);
+            return performed instanceof Number ? from + ((Number)performed).intValue() : from;
+        } catch (StaleElementReferenceException | NotFoundException e) {
+            return from;
+        } catch (UnsupportedCommandException e) {
+            scriptsSupported = false;
+            return from;
+        } catch (WebDriverException e) {
+            //Perform them one at a time this time, and try the script again next time
+            return from;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One page object action, as reported to an ActionSink.
+ * Events are reused from one action to the next, so a sink must copy
+ * whatever it keeps beyond the call it was handed the event in.
+ * To pair a finish with its start, compare Sequence, not the events themselves.
+ */
+public final class ActionEvent {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private long sequence;
+    private ActionType type;
+    private Class<?> page;
+    private String name;
+    private String text;
+    private int count;
+    private FieldCondition condition;
+    private int polls;
+    private long startNanos;
+    private long durationNanos;
+    private Throwable failure;
+
+    ActionEvent(){
+    }
+
+    void Start(ActionType type, Class<?> page, String name, String text, int count, long startNanos){
+        this.sequence = SEQUENCE.incrementAndGet();
+        this.type = type;
+        this.page = page;
+        this.name = name;
+        this.text = text;
+        this.count = count;
+        this.condition = null;
+        this.polls = 0;
+        this.startNanos = startNanos;
+        this.durationNanos = 0;
+        this.failure = null;
+    }
+
+    void SetCount(int count){
+        this.count = count;
+    }
+
+    void SetCondition(FieldCondition condition){
+        this.condition = condition;
+    }
+
+    void SetPolls(int polls){
+        this.polls = polls;
+    }
+
+    void Finish(long endNanos, Throwable failure){
+        this.durationNanos = endNanos - startNanos;
+        this.failure = failure;
+    }
+
+    void CopyFrom(ActionEvent event){
+        this.sequence = event.sequence;
+        this.type = event.type;
+        this.page = event.page;
+        this.name = event.name;
+        this.text = event.text;
+        this.count = event.count;
+        this.condition = event.condition;
+        this.polls = event.polls;
+        this.startNanos = event.startNanos;
+        this.durationNanos = event.durationNanos;
+        this.failure = event.failure;
+    }
+
+    /**
+     * Identifies the action in this JVM; its start and finish, and any copies of them, share it
+     */
+    public long Sequence(){
+        return sequence;
+    }
+
+    public ActionType Type(){
+        return type;
+    }
+
+    /**
+     * The class of the page object performing the action
+     */
+    public Class<?> Page(){
+        return page;
+    }
+
+    /**
+     * The name the action was given for its element, or null
+     */
+    public String Name(){
+        return name;
+    }
+
+    /**
+     * The text sent, or null
+     */
+    public String Text(){
+        return text;
+    }
+
+    /**
+     * The number of fields or actions involved, for actions on several at once,
+     * or the number of elements found
+     */
+    public int Count(){
+        return count;
+    }
+
+    /**
+     * The condition a wait is for, or null for actions that are not waits on a field
+     */
+    public FieldCondition Condition(){
+        return condition;
+    }
+
+    /**
+     * How many times a wait checked its condition; 0 until it finished, and for
+     * waits done in the browser
+     */
+    public int Polls(){
+        return polls;
+    }
+
+    /**
+     * When the action started, in System.nanoTime terms, or in virtual time on a page given a VirtualClock
+     */
+    public long StartNanos(){
+        return startNanos;
+    }
+
+    /**
+     * How long the action took; 0 until it finished
+     */
+    public long DurationNanos(){
+        return durationNanos;
+    }
+
+    /**
+     * What the action failed with, or null if it succeeded
+     */
+    public Throwable Failure(){
+        return failure;
+    }
+}
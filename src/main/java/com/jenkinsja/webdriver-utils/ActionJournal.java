@@ -0,0 +1,320 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import org.openqa.selenium.support.ui.Clock;
+import org.openqa.selenium.support.ui.SystemClock;
+
+/**
+ * Records every finished action as a fixed-layout binary record in a memory-mapped
+ * file, for replaying a run afterwards with ActionJournalReader.
+ * Strings, such as page classes and field names, are written once per file and then
+ * referred to by number, so a record costs a few dozen bytes and no formatting.
+ * When a file is full the journal moves on to the next one, keeping at most the
+ * given number of files and deleting the oldest.
+ * Writes are synchronized; wrap the journal in an AsyncActionSink to take them off
+ * the threads driving the browser.
+ *
+ * Text sent to fields is recorded as its length only, since it may be a password,
+ * unless SetFullText turns full text on. Find locators are always recorded.
+ *
+ * A file starts with a header: the magic number, the format version, and the
+ * journal's clock in milliseconds and in nanoseconds, read together when the file was
+ * opened, which the reader turns action start times into milliseconds by. Give the
+ * journal the clock the pages it records time their actions by, such as a VirtualClock. Records follow,
+ * each starting with its kind byte and ending with a CRC32 of the bytes between,
+ * and a 0 byte marks the end of the data:
+ * STRING records hold an int id, an int byte length and the UTF-8 bytes;
+ * ACTION records hold the type ordinal, the outcome, a pad byte, the count, the start
+ * and duration in nanoseconds, and the string ids of the page, name, text and failure,
+ * -1 for none.
+ * The kind byte is written last, so a record cut short by a crash still reads as
+ * the end of the data; should the file reach disk out of order, the checksum tells.
+ */
+public class ActionJournal implements ActionSink, Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(ActionJournal.class.getName());
+
+    static final int MAGIC = 0x5744554A;
+    static final short VERSION = 2;
+    /**
+     * The first version with checksums
+     */
+    static final short CHECKSUM_VERSION = 2;
+    static final int HEADER_BYTES = 4 + 2 + 2 + 8 + 8;
+    static final byte END = 0;
+    static final byte STRING = 1;
+    static final byte ACTION = 2;
+    static final int ACTION_BYTES = 1 + 1 + 1 + 1 + 4 + 8 + 8 + 4 * 4;
+    static final int CHECKSUM_BYTES = 4;
+    static final byte SUCCEEDED = 0;
+    static final byte FAILED = 1;
+    static final String PREFIX = "actions-";
+    static final String SUFFIX = ".wdj";
+
+    /**
+     * Longer strings, such as long text sent to a field, are cut to this many characters
+     */
+    private static final int MAX_STRING_CHARS = 1024;
+
+    /**
+     * Strings remembered per file; past this, strings are written again each time they are used
+     */
+    private static final int MAX_REMEMBERED_STRINGS = 8192;
+
+    /**
+     * An action record with its four strings defined before it, plus the end marker
+     */
+    private static final int MAX_RECORD_BYTES = 4 * (1 + 4 + 4 + MAX_STRING_CHARS * 3 + CHECKSUM_BYTES)
+            + ACTION_BYTES + CHECKSUM_BYTES + 1;
+
+    private final Path directory;
+    private final Clock clock;
+    private final int fileBytes;
+    private final int maxFiles;
+    private final List<Path> files = new ArrayList<Path>();
+    private final Map<Object, Integer> ids = new HashMap<Object, Integer>();
+    private int nextId;
+    private int fileNumber;
+    private MappedByteBuffer buffer;
+    private final CRC32 checksum = new CRC32();
+    private boolean broken;
+    private boolean fullText;
+
+    /**
+     * Writes files of 64 megabytes to the directory, keeping at most 16 of them
+     */
+    public ActionJournal(Path directory) throws IOException {
+        this(directory, 64 << 20, 16);
+    }
+
+    /**
+     * Writes files of the given size to the directory, keeping at most the given number of them.
+     * Numbering carries on after the journal files already in the directory.
+     */
+    public ActionJournal(Path directory, int fileBytes, int maxFiles) throws IOException {
+        this(directory, fileBytes, maxFiles, new SystemClock());
+    }
+
+    /**
+     * Anchors each file to the clock the pages recorded time their actions by
+     */
+    public ActionJournal(Path directory, int fileBytes, int maxFiles, Clock clock) throws IOException {
+        if (fileBytes < HEADER_BYTES + MAX_RECORD_BYTES){
+            throw new IllegalArgumentException("Journal files of " + fileBytes + " bytes cannot hold an action");
+        }
+        this.directory = directory;
+        this.clock = clock;
+        this.fileBytes = fileBytes;
+        this.maxFiles = Math.max(maxFiles, 1);
+        Files.createDirectories(directory);
+        files.addAll(ListFiles(directory));
+        if (!files.isEmpty()){
+            fileNumber = Number(files.get(files.size() - 1)) + 1;
+        }
+        Rotate();
+    }
+
+    /**
+     * The journal files in the directory, oldest first
+     */
+    static List<Path> ListFiles(Path directory) throws IOException {
+        List<Path> found = new ArrayList<Path>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)){
+            for (Path file : stream){
+                if (Number(file) >= 0){
+                    found.add(file);
+                }
+            }
+        }
+        Collections.sort(found);
+        return found;
+    }
+
+    private static int Number(Path file){
+        String name = file.getFileName().toString();
+        try{
+            return Integer.parseInt(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Record the text sent to fields in full, passwords included, instead of its length
+     */
+    public synchronized ActionJournal SetFullText(boolean fullText){
+        this.fullText = fullText;
+        return this;
+    }
+
+    @Override
+    public synchronized boolean IsEnabled(ActionType type) {
+        return !broken;
+    }
+
+    @Override
+    public void Started(ActionEvent event) {
+        //Actions are recorded whole, once they finish
+    }
+
+    @Override
+    public synchronized void Finished(ActionEvent event) {
+        if (broken){
+            return;
+        }
+        try{
+            Write(event);
+        } catch (IOException e) {
+            broken = true;
+            LOGGER.log(Level.WARNING, "Action journal stopped, cannot open the next file in " + directory, e);
+        }
+    }
+
+    /**
+     * Write out what was recorded and stop recording
+     */
+    @Override
+    public synchronized void close() {
+        if (buffer != null){
+            buffer.force();
+            buffer = null;
+        }
+        broken = true;
+    }
+
+    private void Write(ActionEvent event) throws IOException {
+        //A record never spans files, and its strings are defined in the same file
+        if (buffer.remaining() < MAX_RECORD_BYTES){
+            Rotate();
+        }
+        Throwable failure = event.Failure();
+        int page = Id(event.Page());
+        int name = Id(event.Name());
+        int text = Id(Text(event));
+        int failed = failure == null ? -1 : Id(FailureText(failure));
+        int start = Begin();
+        buffer.put((byte)event.Type().ordinal());
+        buffer.put(failure == null ? SUCCEEDED : FAILED);
+        buffer.put((byte)0);
+        buffer.putInt(event.Count());
+        buffer.putLong(event.StartNanos());
+        buffer.putLong(event.DurationNanos());
+        buffer.putInt(page);
+        buffer.putInt(name);
+        buffer.putInt(text);
+        buffer.putInt(failed);
+        Commit(start, ACTION);
+    }
+
+    /**
+     * Leave room for the kind byte of a record, answering where it goes
+     */
+    private int Begin(){
+        int start = buffer.position();
+        buffer.position(start + 1);
+        return start;
+    }
+
+    /**
+     * Write the checksum of the record begun at the position, then its kind byte,
+     * which makes it visible to readers
+     */
+    private void Commit(int start, byte kind){
+        ByteBuffer body = buffer.duplicate();
+        body.position(start + 1);
+        body.limit(buffer.position());
+        checksum.reset();
+        checksum.update(body);
+        buffer.putInt((int)checksum.getValue());
+        buffer.put(start, kind);
+    }
+
+    /**
+     * The text to record for the action: text sent to a field is cut down to its length
+     * unless full text is on
+     */
+    private String Text(ActionEvent event){
+        String text = event.Text();
+        if (text == null || fullText || event.Type() != ActionType.SEND_KEYS && event.Type() != ActionType.QUEUE_SEND_KEYS){
+            return text;
+        }
+        return "<" + text.length() + " characters>";
+    }
+
+    /**
+     * The first line of the failure, which for WebDriver exceptions leaves out the build and driver info
+     */
+    private static String FailureText(Throwable failure){
+        String text = failure.toString();
+        int newline = text.indexOf('\n');
+        return newline < 0 ? text : text.substring(0, newline).trim();
+    }
+
+    /**
+     * The id of the string or class in the current file, writing its definition first if needed
+     */
+    private int Id(Object value){
+        if (value == null){
+            return -1;
+        }
+        Integer id = ids.get(value);
+        if (id != null){
+            return id;
+        }
+        String text = value instanceof Class ? ((Class<?>)value).getName() : (String)value;
+        if (text.length() > MAX_STRING_CHARS){
+            text = text.substring(0, MAX_STRING_CHARS);
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        int defined = nextId++;
+        int start = Begin();
+        buffer.putInt(defined);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+        Commit(start, STRING);
+        if (ids.size() < MAX_REMEMBERED_STRINGS){
+            ids.put(value, defined);
+        }
+        return defined;
+    }
+
+    private void Rotate() throws IOException {
+        if (buffer != null){
+            buffer.force();
+        }
+        Path file = directory.resolve(String.format("%s%06d%s", PREFIX, fileNumber++, SUFFIX));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)){
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileBytes);
+        }
+        files.add(file);
+        while (files.size() > maxFiles){
+            Files.deleteIfExists(files.remove(0));
+        }
+        ids.clear();
+        nextId = 0;
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putShort((short)0);
+        buffer.putLong(clock.now());
+        buffer.putLong(Clocks.NanoTime(clock));
+        //The rest of a new file is zeros, the end marker
+    }
+}
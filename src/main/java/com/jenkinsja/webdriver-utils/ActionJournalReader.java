@@ -0,0 +1,177 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Streams the records of an ActionJournal back, oldest first, one file at a time.
+ * Reads either a single journal file or every journal file in a directory.
+ * A record failing its checksum, as a crash part way through writing can leave,
+ * ends its file; TornRecords counts them.
+ */
+public class ActionJournalReader implements Closeable {
+
+    private final Iterator<Path> files;
+    private final Map<Integer, String> strings = new HashMap<Integer, String>();
+    private Path file;
+    private MappedByteBuffer buffer;
+    private boolean checksummed;
+    private final CRC32 checksum = new CRC32();
+    private int tornRecords;
+    private long baseMillis;
+    private long baseNanos;
+
+    public ActionJournalReader(Path path) throws IOException {
+        List<Path> found = Files.isDirectory(path)
+                ? ActionJournal.ListFiles(path)
+                : Collections.singletonList(path);
+        this.files = new ArrayList<Path>(found).iterator();
+    }
+
+    /**
+     * The next record, or null when every file has been read
+     */
+    public JournalRecord Next() throws IOException {
+        while (true){
+            if (buffer == null || !buffer.hasRemaining()){
+                if (!Open()){
+                    return null;
+                }
+            }
+            byte kind = buffer.get();
+            if (kind != ActionJournal.END && checksummed && !Intact(kind)){
+                tornRecords++;
+                buffer = null;
+                continue;
+            }
+            switch (kind){
+                case ActionJournal.STRING:
+                    ReadString();
+                    break;
+                case ActionJournal.ACTION:
+                    JournalRecord record = ReadAction();
+                    SkipChecksum();
+                    return record;
+                case ActionJournal.END:
+                    buffer = null;
+                    break;
+                default:
+                    throw new IOException(file + " holds an unknown record kind " + kind + " at " + (buffer.position() - 1));
+            }
+        }
+    }
+
+    /**
+     * How many records failed their checksum so far
+     */
+    public int TornRecords(){
+        return tornRecords;
+    }
+
+    @Override
+    public void close() {
+        buffer = null;
+        strings.clear();
+    }
+
+    private boolean Open() throws IOException {
+        buffer = null;
+        if (!files.hasNext()){
+            return false;
+        }
+        file = files.next();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)){
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.remaining() < ActionJournal.HEADER_BYTES || buffer.getInt() != ActionJournal.MAGIC){
+            throw new IOException(file + " is not an action journal");
+        }
+        short version = buffer.getShort();
+        if (version < 1 || version > ActionJournal.VERSION){
+            throw new IOException(file + " has journal version " + version + ", expected at most " + ActionJournal.VERSION);
+        }
+        checksummed = version >= ActionJournal.CHECKSUM_VERSION;
+        buffer.getShort();
+        baseMillis = buffer.getLong();
+        baseNanos = buffer.getLong();
+        strings.clear();
+        return true;
+    }
+
+    private void ReadString(){
+        int id = buffer.getInt();
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        strings.put(id, new String(bytes, StandardCharsets.UTF_8));
+        SkipChecksum();
+    }
+
+    /**
+     * Whether the record of the kind at the position is all there and matches its checksum,
+     * leaving the position where it was
+     */
+    private boolean Intact(byte kind){
+        int start = buffer.position();
+        int length;
+        if (kind == ActionJournal.STRING){
+            if (buffer.remaining() < 8){
+                return false;
+            }
+            length = 8 + buffer.getInt(start + 4);
+        } else if (kind == ActionJournal.ACTION){
+            length = ActionJournal.ACTION_BYTES - 1;
+        } else {
+            //Unknown kinds are reported by the caller
+            return true;
+        }
+        if (length < 0 || length > buffer.remaining() - ActionJournal.CHECKSUM_BYTES){
+            return false;
+        }
+        ByteBuffer body = buffer.duplicate();
+        body.limit(start + length);
+        checksum.reset();
+        checksum.update(body);
+        return (int)checksum.getValue() == buffer.getInt(start + length);
+    }
+
+    private void SkipChecksum(){
+        if (checksummed){
+            buffer.getInt();
+        }
+    }
+
+    private JournalRecord ReadAction() throws IOException {
+        int type = buffer.get();
+        boolean failed = buffer.get() == ActionJournal.FAILED;
+        buffer.get();
+        int count = buffer.getInt();
+        long startNanos = buffer.getLong();
+        long durationNanos = buffer.getLong();
+        String page = strings.get(buffer.getInt());
+        String name = strings.get(buffer.getInt());
+        String text = strings.get(buffer.getInt());
+        String failure = strings.get(buffer.getInt());
+        ActionType[] types = ActionType.values();
+        if (type < 0 || type >= types.length){
+            throw new IOException(file + " holds an unknown action type " + type);
+        }
+        long startMillis = baseMillis + TimeUnit.NANOSECONDS.toMillis(startNanos - baseNanos);
+        return new JournalRecord(types[type], page, name, text, count,
+                startMillis, startNanos, durationNanos, failed, failure);
+    }
+}
@@ -0,0 +1,26 @@
+package java.com.jenkinsja.webdriverutils;
+
+/**
+ * Receives the actions of page objects, in place of building log messages for them.
+ * A page object asks IsEnabled first and reports nothing for disabled types,
+ * so a disabled sink costs one call per action.
+ * The sink is chosen globally with PageObject.SetDefaultActionSink, or per
+ * page object with SetActionSink.
+ */
+public interface ActionSink {
+
+    /**
+     * Whether actions of this type should be reported at all
+     */
+    boolean IsEnabled(ActionType type);
+
+    /**
+     * An action is about to be performed
+     */
+    void Started(ActionEvent event);
+
+    /**
+     * An action finished, successfully or with its Failure
+     */
+    void Finished(ActionEvent event);
+}
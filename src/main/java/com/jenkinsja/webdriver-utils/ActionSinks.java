@@ -0,0 +1,111 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.util.Arrays;
+
+/**
+ * Combines action sinks.
+ */
+public final class ActionSinks {
+
+    private ActionSinks(){
+    }
+
+    /**
+     * The sinks that took each action in progress on a thread, innermost last.
+     * The rows are reused, as page objects reuse their events.
+     */
+    private static final class Accepted {
+        long[] sequences = new long[4];
+        boolean[][] sinks = new boolean[4][];
+        int depth;
+
+        boolean[] Push(ActionEvent event, int count){
+            if (depth == sequences.length){
+                sequences = Arrays.copyOf(sequences, depth * 2);
+                sinks = Arrays.copyOf(sinks, depth * 2);
+            }
+            if (sinks[depth] == null || sinks[depth].length < count){
+                sinks[depth] = new boolean[count];
+            } else {
+                Arrays.fill(sinks[depth], false);
+            }
+            sequences[depth] = event.Sequence();
+            return sinks[depth++];
+        }
+
+        /**
+         * The sinks that took the event, dropping any actions started inside it that
+         * never finished, or null if the event was not started here
+         */
+        boolean[] Pop(ActionEvent event){
+            for (int level = depth - 1; level >= 0; level--){
+                if (sequences[level] == event.Sequence()){
+                    depth = level;
+                    return sinks[level];
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A sink reporting each action to every one of the sinks that takes its type, in order.
+     * An action finishes on exactly the sinks it started on, even if one changes its mind
+     * about the type in between, and on all of them even if one throws.
+     */
+    public static ActionSink All(ActionSink... sinks){
+        final ActionSink[] all = Arrays.copyOf(sinks, sinks.length);
+        final ThreadLocal<Accepted> accepted = new ThreadLocal<Accepted>() {
+            @Override
+            protected Accepted initialValue() {
+                return new Accepted();
+            }
+        };
+        return new ActionSink() {
+            @Override
+            public boolean IsEnabled(ActionType type) {
+                for (ActionSink sink : all){
+                    if (sink.IsEnabled(type)){
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public void Started(ActionEvent event) {
+                boolean[] started = accepted.get().Push(event, all.length);
+                for (int i = 0; i < all.length; i++){
+                    if (all[i].IsEnabled(event.Type())){
+                        all[i].Started(event);
+                        started[i] = true;
+                    }
+                }
+            }
+
+            @Override
+            public void Finished(ActionEvent event) {
+                boolean[] started = accepted.get().Pop(event);
+                if (started == null){
+                    return;
+                }
+                RuntimeException failure = null;
+                for (int i = 0; i < all.length; i++){
+                    if (!started[i]){
+                        continue;
+                    }
+                    try{
+                        all[i].Finished(event);
+                    } catch (RuntimeException e) {
+                        if (failure == null){
+                            failure = e;
+                        }
+                    }
+                }
+                if (failure != null){
+                    throw failure;
+                }
+            }
+        };
+    }
+}
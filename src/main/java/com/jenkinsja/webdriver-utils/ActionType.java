@@ -0,0 +1,19 @@
+package java.com.jenkinsja.webdriverutils;
+
+/**
+ * The kinds of page object actions reported to an ActionSink.
+ * Waits report the name of what is waited on, and finds report the locator as their text.
+ * New kinds are only ever added at the end, journals store the ordinal.
+ */
+public enum ActionType {
+    CLICK,
+    SEND_KEYS,
+    FILL_FORM,
+    FLUSH,
+    QUEUE_CLICK,
+    QUEUE_SEND_KEYS,
+    FIND_ELEMENT,
+    FIND_ELEMENTS,
+    WAIT,
+    LOAD
+}
@@ -0,0 +1,118 @@
+package java.com.jenkinsja.webdriverutils;
+
+import com.google.common.base.Function;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Clock;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.SystemClock;
+
+/**
+ * Polls the condition straight away, then a few times at a short ramp interval,
+ * then at an interval doubling up to a maximum.
+ * The strategy also learns how long each condition, identified by page class and
+ * name, usually takes to be met. Once a condition has been seen to take longer
+ * than the ramp interval, the first sleep skips ahead to most of that time, so a
+ * slow field is not polled over and over before it can possibly be ready.
+ * Conditions without a name are not learned, they only ramp and back off.
+ */
+public class AdaptiveWaitStrategy implements WaitStrategy {
+
+    private final Clock clock;
+    private final Sleeper sleeper;
+    private final long timeoutMillis;
+    private final long rampNanos;
+    private final int rampPolls;
+    private final long maximumNanos;
+    private final ClassValue<ConcurrentMap<String, AtomicLong>> learned = new ClassValue<ConcurrentMap<String, AtomicLong>>() {
+        @Override
+        protected ConcurrentMap<String, AtomicLong> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<String, AtomicLong>();
+        }
+    };
+
+    /**
+     * Ramps at 50 milliseconds for 3 polls, then backs off to at most a second
+     */
+    public AdaptiveWaitStrategy(long timeoutSeconds){
+        this(new SystemClock(), Sleepers.FromEnvironment(), timeoutSeconds, 50, 3, 1000);
+    }
+
+    public AdaptiveWaitStrategy(Clock clock, Sleeper sleeper, long timeoutSeconds, long rampMillis, int rampPolls, long maximumMillis){
+        this.clock = clock;
+        this.sleeper = sleeper;
+        this.timeoutMillis = TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        this.rampNanos = TimeUnit.MILLISECONDS.toNanos(rampMillis);
+        this.rampPolls = rampPolls;
+        this.maximumNanos = TimeUnit.MILLISECONDS.toNanos(maximumMillis);
+    }
+
+    @Override
+    public <V> V Until(WebDriver driver, Class<?> page, String name, Function<? super WebDriver, V> condition) {
+        AtomicLong expected = Expected(page, name);
+        final long expectedNanos = expected.get();
+        long start = clock.now();
+        V value = WaitLoop.Until(driver, condition, clock, sleeper, timeoutMillis, new WaitLoop.Schedule() {
+            @Override
+            public long IntervalNanos(int polls) {
+                return Interval(polls, expectedNanos);
+            }
+        });
+        Learn(expected, TimeUnit.MILLISECONDS.toNanos(clock.now() - start));
+        return value;
+    }
+
+    /**
+     * How long the condition has usually taken to be met, in milliseconds, or 0 if not yet learned
+     */
+    public long LearnedMillis(Class<?> page, String name){
+        return TimeUnit.NANOSECONDS.toMillis(Expected(page, name).get());
+    }
+
+    private AtomicLong Expected(Class<?> page, String name){
+        if (name == null){
+            return new AtomicLong();
+        }
+        ConcurrentMap<String, AtomicLong> byName = learned.get(page);
+        AtomicLong expected = byName.get(name);
+        if (expected == null){
+            AtomicLong created = new AtomicLong();
+            expected = byName.putIfAbsent(name, created);
+            if (expected == null){
+                expected = created;
+            }
+        }
+        return expected;
+    }
+
+    private long Interval(int polls, long expectedNanos){
+        int step = polls;
+        if (expectedNanos > rampNanos){
+            if (polls == 1){
+                return expectedNanos - expectedNanos / 4;
+            }
+            step = polls - 1;
+        }
+        if (step <= rampPolls){
+            return rampNanos;
+        }
+        int doublings = Math.min(step - rampPolls, 62);
+        return rampNanos > maximumNanos >> doublings ? maximumNanos : rampNanos << doublings;
+    }
+
+    /**
+     * Fold the time this wait took into a moving average weighted 3:1 towards the past
+     */
+    private static void Learn(AtomicLong expected, long elapsedNanos){
+        while (true){
+            long current = expected.get();
+            long next = current == 0 ? elapsedNanos : current - current / 4 + elapsedNanos / 4;
+            if (expected.compareAndSet(current, Math.max(next, 1))){
+                return;
+            }
+        }
+    }
+}
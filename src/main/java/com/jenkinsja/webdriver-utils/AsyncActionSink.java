@@ -0,0 +1,155 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.io.Closeable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands actions to another sink on a background thread, so a slow sink never
+ * holds up the thread driving the browser.
+ * Events are copied into a ring of slots allocated up front. When the ring is
+ * full, events are dropped and counted rather than waited for.
+ * The delegate is handed a copy for the start of an action and another for its
+ * finish, on the background thread, so it must pair them by ActionEvent.Sequence
+ * and take durations from the events rather than timing the calls itself.
+ * A finish may also arrive without its start, or never, when events are dropped.
+ */
+public class AsyncActionSink implements ActionSink, Closeable {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * A copy of one event, and whether it reported a start or a finish
+     */
+    private static final class Slot {
+        final ActionEvent event = new ActionEvent();
+        boolean finished;
+    }
+
+    private final ActionSink delegate;
+    private final Slot[] slots;
+    private final int mask;
+    /**
+     * One past the sequence number last published in each slot
+     */
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread worker;
+    private volatile boolean idle;
+    private volatile boolean closed;
+
+    /**
+     * Holds up to 1024 events not yet handed on
+     */
+    public AsyncActionSink(ActionSink delegate){
+        this(delegate, 1024);
+    }
+
+    /**
+     * Holds up to the given number of events, rounded up to a power of two
+     */
+    public AsyncActionSink(ActionSink delegate, int capacity){
+        this.delegate = delegate;
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++){
+            slots[i] = new Slot();
+        }
+        this.mask = size - 1;
+        this.published = new AtomicLongArray(size);
+        this.worker = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Drain();
+            }
+        }, "webdriver-utils-action-sink");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public boolean IsEnabled(ActionType type) {
+        return !closed && delegate.IsEnabled(type);
+    }
+
+    @Override
+    public void Started(ActionEvent event) {
+        Offer(event, false);
+    }
+
+    @Override
+    public void Finished(ActionEvent event) {
+        Offer(event, true);
+    }
+
+    /**
+     * The number of events dropped because the ring was full
+     */
+    public long Dropped(){
+        return dropped.get();
+    }
+
+    /**
+     * Hand on the events already taken, then stop the background thread
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(worker);
+        try{
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void Offer(ActionEvent event, boolean finished){
+        long sequence;
+        do{
+            sequence = claimed.get();
+            if (closed || sequence - consumed.get() >= slots.length){
+                dropped.incrementAndGet();
+                return;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+        int index = (int)sequence & mask;
+        Slot slot = slots[index];
+        slot.event.CopyFrom(event);
+        slot.finished = finished;
+        published.set(index, sequence + 1);
+        if (idle){
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private void Drain(){
+        long next = 0;
+        while (!closed || next < claimed.get()){
+            int index = (int)next & mask;
+            if (published.get(index) != next + 1){
+                idle = true;
+                if (published.get(index) != next + 1 && !closed){
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                idle = false;
+                continue;
+            }
+            Slot slot = slots[index];
+            try{
+                if (slot.finished){
+                    delegate.Finished(slot.event);
+                } else {
+                    delegate.Started(slot.event);
+                }
+            } catch (RuntimeException e) {
+                //A failing sink must not stop the events after it
+            }
+            next++;
+            consumed.set(next);
+        }
+    }
+}
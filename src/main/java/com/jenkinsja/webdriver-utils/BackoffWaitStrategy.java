@@ -0,0 +1,45 @@
+package java.com.jenkinsja.webdriverutils;
+
+import com.google.common.base.Function;
+import java.util.concurrent.TimeUnit;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Clock;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.SystemClock;
+
+/**
+ * Polls the condition straight away, then at an interval that doubles after
+ * each poll up to a maximum, so fast conditions are seen quickly and slow ones
+ * cost fewer commands.
+ */
+public class BackoffWaitStrategy implements WaitStrategy {
+
+    private final Clock clock;
+    private final Sleeper sleeper;
+    private final long timeoutMillis;
+    private final long initialNanos;
+    private final long maximumNanos;
+
+    public BackoffWaitStrategy(long timeoutSeconds, long initialMillis, long maximumMillis){
+        this(new SystemClock(), Sleepers.FromEnvironment(), timeoutSeconds, initialMillis, maximumMillis);
+    }
+
+    public BackoffWaitStrategy(Clock clock, Sleeper sleeper, long timeoutSeconds, long initialMillis, long maximumMillis){
+        this.clock = clock;
+        this.sleeper = sleeper;
+        this.timeoutMillis = TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        this.initialNanos = TimeUnit.MILLISECONDS.toNanos(initialMillis);
+        this.maximumNanos = TimeUnit.MILLISECONDS.toNanos(maximumMillis);
+    }
+
+    @Override
+    public <V> V Until(WebDriver driver, Class<?> page, String name, Function<? super WebDriver, V> condition) {
+        return WaitLoop.Until(driver, condition, clock, sleeper, timeoutMillis, new WaitLoop.Schedule() {
+            @Override
+            public long IntervalNanos(int polls) {
+                int doublings = Math.min(polls - 1, 62);
+                return initialNanos > maximumNanos >> doublings ? maximumNanos : initialNanos << doublings;
+            }
+        });
+    }
+}
@@ -0,0 +1,121 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.util.concurrent.TimeUnit;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.Clock;
+
+/**
+ * Waits for pending fields inside the browser instead of polling from the client.
+ * The fields are shipped to an async script that re-checks them whenever the DOM
+ * mutates, on the next animation frame, and answers as soon as all are ready.
+ * Each script runs for a bounded slice of the timeout, so a busy page cannot hold
+ * one command open for the whole wait.
+ * The driver's script timeout is raised to cover a slice for the length of each wait,
+ * then set back to the timeout the caller says the session keeps outside browser
+ * waits: WebDriver has no way to read the previous one.
+ */
+final class BrowserWait {
+
+    private static final long SLICE_MILLIS = 10000;
+    private static final long SCRIPT_TIMEOUT_MARGIN_MILLIS = 2000;
+
+    private static final String SCRIPT =
+            ElementStates.STATE_FUNCTION
+            + "var elements = arguments[0], fields = arguments[1], required = arguments[2], timeout = arguments[3];"
+            + "var done = arguments[arguments.length - 1], finished = false, frame = 0, observer, timer, safety;"
+            + "function satisfied() {"
+            + "  var ready = [];"
+            + "  for (var i = 0; i < elements.length; i++) {"
+            + "    var f = fields[i];"
+            + "    if (!ready[f] && (state(elements[i]) & required[f]) === required[f]) ready[f] = true;"
+            + "  }"
+            + "  for (var k = 0; k < required.length; k++) {"
+            + "    if (!ready[k]) return false;"
+            + "  }"
+            + "  return true;"
+            + "}"
+            + "if (satisfied()) { done(true); return; }"
+            + "function finish(result) {"
+            + "  if (finished) return;"
+            + "  finished = true;"
+            + "  observer.disconnect();"
+            + "  cancelAnimationFrame(frame);"
+            + "  clearTimeout(timer);"
+            + "  clearInterval(safety);"
+            + "  done(result);"
+            + "}"
+            + "function check() { frame = 0; if (satisfied()) finish(true); }"
+            + "function schedule() { if (!finished && !frame) frame = requestAnimationFrame(check); }"
+            + "observer = new MutationObserver(schedule);"
+            + "observer.observe(document.documentElement, {attributes: true, childList: true, characterData: true, subtree: true});"
+            //Stylesheet changes and transitions do not mutate the DOM
+            + "safety = setInterval(check, 250);"
+            + "timer = setTimeout(function() { finish(satisfied()); }, timeout);";
+
+    //What is learnt about one driver; the driver itself is passed to each wait so it is not held here
+    private final Clock clock;
+    private boolean asyncSupported = true;
+
+    BrowserWait(Clock clock){
+        this.clock = clock;
+    }
+
+    /**
+     * Wait in the browser until every pending field is ready, or the deadline passes.
+     * Returns false if the browser cannot do the waiting, leaving the caller to poll.
+     */
+    boolean Until(WebDriver driver, PendingFields pending, long deadline, long timeoutMillis, long scriptTimeoutMillis){
+        if (pending.IsEmpty()){
+            return true;
+        }
+        if (!asyncSupported || !(driver instanceof JavascriptExecutor)){
+            return false;
+        }
+        try{
+            Object[] arguments = pending.ScriptArguments();
+            SetScriptTimeout(driver, SLICE_MILLIS + SCRIPT_TIMEOUT_MARGIN_MILLIS);
+            try{
+                while (true){
+                    long remaining = deadline - clock.now();
+                    if (remaining <= 0){
+                        throw new TimeoutException("Timed out after " + TimeUnit.MILLISECONDS.toSeconds(timeoutMillis)
+                                + " seconds waiting for " + pending);
+                    }
+                    try{
+                        Object ready = ((JavascriptExecutor)driver).executeAsyncScript(SCRIPT,
+                                arguments[0], arguments[1], arguments[2], Math.min(remaining, SLICE_MILLIS));
+                        if (Boolean.TRUE.equals(ready)){
+                            return true;
+                        }
+                    } catch (ScriptTimeoutException e) {
+                        //The page was too busy to answer within the slice, try again
+                    }
+                }
+            } finally {
+                SetScriptTimeout(driver, scriptTimeoutMillis);
+            }
+        } catch (StaleElementReferenceException | NotFoundException e) {
+            //Polling copes with elements that go stale or missing
+            return false;
+        } catch (TimeoutException e) {
+            throw e;
+        } catch (UnsupportedCommandException e) {
+            asyncSupported = false;
+            return false;
+        } catch (WebDriverException e) {
+            //Poll this time, and try the browser again on the next wait
+            return false;
+        }
+    }
+
+    private static void SetScriptTimeout(WebDriver driver, long millis){
+        driver.manage().timeouts().setScriptTimeout(millis, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,93 @@
+package java.com.jenkinsja.webdriverutils;
+
+import com.google.common.base.Function;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Clock;
+import org.openqa.selenium.support.ui.SystemClock;
+
+/**
+ * Lets the browser wait for page loads in the SHARED_DEADLINE load mode, see BrowserWait.
+ * Every other condition, and page loads the browser cannot wait for, go to the fallback strategy.
+ * A page load handed over part way through is given only what is left of the timeout.
+ * The browser's waits change the driver's script timeout while they run, then set it
+ * back to the script timeout given here: WebDriver has no way to read the one the
+ * session had, so give the one the rest of the code relies on.
+ */
+public class BrowserWaitStrategy implements WaitStrategy {
+
+    private final Clock clock;
+    private final WaitStrategy fallback;
+    private final long timeoutMillis;
+    private final long scriptTimeoutMillis;
+    private final Map<WebDriver, BrowserWait> browserWaits = new WeakHashMap<WebDriver, BrowserWait>();
+
+    public BrowserWaitStrategy(long timeoutSeconds, long scriptTimeoutSeconds, WaitStrategy fallback){
+        this(new SystemClock(), timeoutSeconds, scriptTimeoutSeconds, fallback);
+    }
+
+    /**
+     * Times the browser's waits by the clock; the fallback keeps its own
+     */
+    public BrowserWaitStrategy(Clock clock, long timeoutSeconds, long scriptTimeoutSeconds, WaitStrategy fallback){
+        this.clock = clock;
+        this.fallback = fallback;
+        this.timeoutMillis = TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        this.scriptTimeoutMillis = TimeUnit.SECONDS.toMillis(scriptTimeoutSeconds);
+    }
+
+    @Override
+    public <V> V Until(WebDriver driver, Class<?> page, String name, Function<? super WebDriver, V> condition) {
+        if (!(condition instanceof PendingFields)){
+            return fallback.Until(driver, page, name, condition);
+        }
+        long deadline = clock.laterBy(timeoutMillis);
+        if (BrowserWaitFor(driver).Until(driver, (PendingFields)condition, deadline, timeoutMillis, scriptTimeoutMillis)){
+            return (V)Boolean.TRUE;
+        }
+        return fallback.Until(driver, page, name, new Deadline<V>(condition, deadline));
+    }
+
+    private BrowserWait BrowserWaitFor(WebDriver driver){
+        synchronized (browserWaits){
+            BrowserWait browserWait = browserWaits.get(driver);
+            if (browserWait == null){
+                browserWait = new BrowserWait(clock);
+                browserWaits.put(driver, browserWait);
+            }
+            return browserWait;
+        }
+    }
+
+    /**
+     * Times out a condition at the deadline of the browser's wait,
+     * whatever the timeout of the strategy polling it
+     */
+    private final class Deadline<V> implements Function<WebDriver, V> {
+        private final Function<? super WebDriver, V> condition;
+        private final long deadline;
+
+        Deadline(Function<? super WebDriver, V> condition, long deadline){
+            this.condition = condition;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public V apply(WebDriver driver) {
+            V value = condition.apply(driver);
+            if ((value == null || Boolean.FALSE.equals(value)) && !clock.isNowBefore(deadline)){
+                throw new TimeoutException("Timed out after " + TimeUnit.MILLISECONDS.toSeconds(timeoutMillis)
+                        + " seconds waiting for " + condition);
+            }
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return condition.toString();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package java.com.jenkinsja.webdriverutils;
+
+/**
+ * What a CommandLedger does when a page method sends more commands than its budget allows.
+ */
+public enum BudgetMode {
+    /**
+     * Log a warning and carry on
+     */
+    WARN,
+    /**
+     * Fail the page method with a WebDriverException, unless it already failed
+     */
+    FAIL
+}
@@ -0,0 +1,28 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.util.concurrent.TimeUnit;
+import org.openqa.selenium.support.ui.Clock;
+import org.openqa.selenium.support.ui.SystemClock;
+
+/**
+ * Reads nanosecond times off clocks, which only tell the time in milliseconds.
+ */
+final class Clocks {
+
+    private Clocks(){
+    }
+
+    /**
+     * The clock's time in nanoseconds: System.nanoTime for the system clock, the virtual
+     * time of a VirtualClock, and the milliseconds of any other clock
+     */
+    static long NanoTime(Clock clock){
+        if (clock instanceof VirtualClock){
+            return ((VirtualClock)clock).NanoTime();
+        }
+        if (clock instanceof SystemClock){
+            return System.nanoTime();
+        }
+        return TimeUnit.MILLISECONDS.toNanos(clock.now());
+    }
+}
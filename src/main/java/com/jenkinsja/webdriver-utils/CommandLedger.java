@@ -0,0 +1,440 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.WrapsDriver;
+import org.openqa.selenium.internal.WrapsElement;
+
+/**
+ * Counts the remote commands page objects send, by command, and attributes them to
+ * the page method that sent them, such as WaitUntilLoaded or ClickButton.
+ * Wrap a driver with Wrap, or have every page object created from now on wrap its
+ * driver with PageObject.SetDefaultCommandLedger. The wrapper counts each call on the
+ * driver, on the elements it finds, and on the objects they hand out, such as
+ * driver.manage().timeouts(); calls only handing out such objects are not commands.
+ * A page object with a ledger also wraps the elements passed to its methods and
+ * the elements its loader reads from its fields, so elements found elsewhere, for
+ * instance by a PageFactory given the unwrapped driver, are counted while the page uses them.
+ * Not counted are calls on such elements made directly, outside the page's methods,
+ * and commands sent through the unwrapped driver; pass PageObject.Driver to
+ * PageFactory to count its finds and fields everywhere.
+ * The ledger also hears the page's actions, to know which page method is running:
+ * the outermost action on the thread. Commands sent outside any page method are
+ * counted under OUTSIDE.
+ * A page method can be given a budget; going over it warns or fails, per BudgetMode.
+ */
+public class CommandLedger implements ActionSink {
+
+    private static final Logger LOGGER = Logger.getLogger(CommandLedger.class.getName());
+
+    /**
+     * The method name commands sent outside any page method are counted under
+     */
+    public static final String OUTSIDE = "(outside page methods)";
+
+    /**
+     * The commands of one page method
+     */
+    public static final class Tally {
+        private final ConcurrentMap<String, AtomicLong> byCommand = new ConcurrentHashMap<String, AtomicLong>();
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong commands = new AtomicLong();
+        private final AtomicLong maxPerCall = new AtomicLong();
+
+        private void Count(String command){
+            AtomicLong count = byCommand.get(command);
+            if (count == null){
+                AtomicLong created = new AtomicLong();
+                count = byCommand.putIfAbsent(command, created);
+                if (count == null){
+                    count = created;
+                }
+            }
+            count.incrementAndGet();
+            commands.incrementAndGet();
+        }
+
+        private void Called(long sent){
+            calls.incrementAndGet();
+            long max;
+            while (sent > (max = maxPerCall.get()) && !maxPerCall.compareAndSet(max, sent)){
+                //Another thread raised the maximum, compare again
+            }
+        }
+
+        /**
+         * How many times the method ran
+         */
+        public long Calls(){
+            return calls.get();
+        }
+
+        /**
+         * The commands sent by all of its runs
+         */
+        public long Commands(){
+            return commands.get();
+        }
+
+        /**
+         * The most commands one run sent
+         */
+        public long MaxPerCall(){
+            return maxPerCall.get();
+        }
+
+        /**
+         * The commands sent by name, such as findElement or executeScript
+         */
+        public Map<String, Long> ByCommand(){
+            Map<String, Long> counts = new TreeMap<String, Long>();
+            for (Map.Entry<String, AtomicLong> entry : byCommand.entrySet()){
+                counts.put(entry.getKey(), entry.getValue().get());
+            }
+            return counts;
+        }
+
+        @Override
+        public String toString() {
+            return Commands() + " commands in " + Calls() + " calls, at most " + MaxPerCall() + " per call " + ByCommand();
+        }
+    }
+
+    /**
+     * The page method running on a thread
+     */
+    private static final class Scope {
+        Class<?> page;
+        ActionType type;
+        int depth;
+        long sent;
+        Tally tally;
+    }
+
+    private final BudgetMode mode;
+    private final ConcurrentMap<String, Tally> tallies = new ConcurrentHashMap<String, Tally>();
+    private final ConcurrentMap<String, Integer> budgets = new ConcurrentHashMap<String, Integer>();
+    private final ThreadLocal<Scope> scopes = new ThreadLocal<Scope>() {
+        @Override
+        protected Scope initialValue() {
+            return new Scope();
+        }
+    };
+
+    /**
+     * Warns when a method goes over its budget
+     */
+    public CommandLedger(){
+        this(BudgetMode.WARN);
+    }
+
+    public CommandLedger(BudgetMode mode){
+        this.mode = mode;
+    }
+
+    /**
+     * Allow each run of the page method at most the given number of commands, on every page class
+     */
+    public CommandLedger Budget(String method, int commands){
+        budgets.put(Key(null, method), commands);
+        return this;
+    }
+
+    /**
+     * Allow each run of the page method at most the given number of commands on the page class,
+     * in place of any budget for the method on every page class
+     */
+    public CommandLedger Budget(Class<?> page, String method, int commands){
+        budgets.put(Key(page, method), commands);
+        return this;
+    }
+
+    /**
+     * The commands of the page method, empty if it sent none
+     */
+    public Tally Tally(Class<?> page, String method){
+        Tally tally = tallies.get(Key(page, method));
+        return tally != null ? tally : new Tally();
+    }
+
+    /**
+     * The page methods that sent commands, as page class name, a dot, and method name
+     */
+    public List<String> Methods(){
+        List<String> methods = new ArrayList<String>(tallies.keySet());
+        Collections.sort(methods);
+        return methods;
+    }
+
+    /**
+     * Write a table of every page method, most commands per call first
+     */
+    public void Dump(Appendable out) throws IOException {
+        List<Map.Entry<String, Tally>> entries = new ArrayList<Map.Entry<String, Tally>>(tallies.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<String, Tally>>() {
+            @Override
+            public int compare(Map.Entry<String, Tally> a, Map.Entry<String, Tally> b) {
+                return Double.compare(PerCall(b.getValue()), PerCall(a.getValue()));
+            }
+        });
+        out.append(String.format("%-60s %8s %10s %10s %8s  %s%n", "method", "calls", "commands", "per call", "max", "by command"));
+        for (Map.Entry<String, Tally> entry : entries){
+            Tally tally = entry.getValue();
+            out.append(String.format("%-60s %8d %10d %10.1f %8d  %s%n", entry.getKey(), tally.Calls(),
+                    tally.Commands(), PerCall(tally), tally.MaxPerCall(), tally.ByCommand()));
+        }
+    }
+
+    private static double PerCall(Tally tally){
+        return tally.Calls() == 0 ? tally.Commands() : tally.Commands() / (double)tally.Calls();
+    }
+
+    /**
+     * A driver counting its commands in this ledger
+     */
+    public WebDriver Wrap(WebDriver driver){
+        return (WebDriver)Wrap((Object)driver);
+    }
+
+    /**
+     * An element counting its commands in this ledger, or the element itself
+     * if it already counts them, even from inside another wrapper
+     */
+    public WebElement Wrap(WebElement element){
+        for (Object wrapped = element; wrapped instanceof WebElement; ){
+            if (IsCounter(wrapped)){
+                return element;
+            }
+            wrapped = wrapped instanceof WrapsElement ? ((WrapsElement)wrapped).getWrappedElement() : null;
+        }
+        return (WebElement)Wrap((Object)element);
+    }
+
+    /**
+     * Elements counting their commands in this ledger
+     */
+    public List<WebElement> Wrap(List<WebElement> elements){
+        if (elements == null){
+            return null;
+        }
+        List<WebElement> wrapped = new ArrayList<WebElement>(elements.size());
+        for (WebElement element : elements){
+            wrapped.add(Wrap(element));
+        }
+        return wrapped;
+    }
+
+    //Attribution
+    @Override
+    public boolean IsEnabled(ActionType type) {
+        return true;
+    }
+
+    @Override
+    public void Started(ActionEvent event) {
+        Scope scope = scopes.get();
+        if (scope.depth++ == 0){
+            scope.page = event.Page();
+            scope.type = event.Type();
+            scope.sent = 0;
+            scope.tally = null;
+        }
+    }
+
+    @Override
+    public void Finished(ActionEvent event) {
+        Scope scope = scopes.get();
+        if (scope.depth == 0 || --scope.depth > 0){
+            return;
+        }
+        String method = Method(scope.type);
+        Tally(Key(scope.page, method)).Called(scope.sent);
+        Integer budget = budgets.get(Key(scope.page, method));
+        if (budget == null){
+            budget = budgets.get(Key(null, method));
+        }
+        if (budget != null && scope.sent > budget){
+            String message = method + " on " + scope.page.getName() + " sent " + scope.sent
+                    + " commands, over its budget of " + budget;
+            if (mode == BudgetMode.FAIL && event.Failure() == null){
+                throw new WebDriverException(message);
+            }
+            LOGGER.warning(message);
+        }
+    }
+
+    /**
+     * The page method an outermost action is reported for
+     */
+    private static String Method(ActionType type){
+        switch (type){
+            case CLICK:
+            case QUEUE_CLICK:
+                return "ClickButton";
+            case SEND_KEYS:
+            case QUEUE_SEND_KEYS:
+                return "SendKeys";
+            case FILL_FORM:
+                return "FillForm";
+            case FLUSH:
+                return "Flush";
+            case FIND_ELEMENT:
+                return "FindElement";
+            case FIND_ELEMENTS:
+                return "FindElements";
+            case LOAD:
+                return "WaitUntilLoaded";
+            default:
+                return "Until";
+        }
+    }
+
+    private static String Key(Class<?> page, String method){
+        return (page == null ? "*" : page.getName()) + "." + method;
+    }
+
+    private Tally Tally(String key){
+        Tally tally = tallies.get(key);
+        if (tally == null){
+            Tally created = new Tally();
+            tally = tallies.putIfAbsent(key, created);
+            if (tally == null){
+                tally = created;
+            }
+        }
+        return tally;
+    }
+
+    private void Count(String command){
+        Scope scope = scopes.get();
+        if (scope.depth == 0){
+            Tally(Key(null, OUTSIDE)).Count(command);
+            return;
+        }
+        if (scope.tally == null){
+            scope.tally = Tally(Key(scope.page, Method(scope.type)));
+        }
+        scope.tally.Count(command);
+        scope.sent++;
+    }
+
+    //Counting
+    /**
+     * Wrap a driver, element or handle such as WebDriver.Options in a proxy counting
+     * its calls, keeping every interface of the target
+     */
+    private Object Wrap(Object target){
+        if (target == null){
+            return null;
+        }
+        if (IsCounter(target)){
+            return target;
+        }
+        return Proxies.Wrap(target, new Counter(target));
+    }
+
+    private boolean IsCounter(Object value){
+        return Proxy.isProxyClass(value.getClass()) && Proxy.getInvocationHandler(value) instanceof Counter
+                && ((Counter)Proxy.getInvocationHandler(value)).Ledger() == this;
+    }
+
+    private static Object Unwrap(Object value){
+        if (value != null && Proxy.isProxyClass(value.getClass()) && Proxy.getInvocationHandler(value) instanceof Counter){
+            return ((Counter)Proxy.getInvocationHandler(value)).target;
+        }
+        if (value instanceof List){
+            List<Object> unwrapped = new ArrayList<Object>();
+            for (Object item : (List<?>)value){
+                unwrapped.add(Unwrap(item));
+            }
+            return unwrapped;
+        }
+        return value;
+    }
+
+    /**
+     * Counts the calls on one wrapped object
+     */
+    private final class Counter implements InvocationHandler {
+        private final Object target;
+
+        Counter(Object target){
+            this.target = target;
+        }
+
+        CommandLedger Ledger(){
+            return CommandLedger.this;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (method.getDeclaringClass() == Object.class){
+                if (name.equals("equals")){
+                    return target.equals(Unwrap(args[0]));
+                }
+                return method.invoke(target, args);
+            }
+            if (method.getDeclaringClass() == WrapsDriver.class && !(target instanceof WrapsDriver)){
+                return target;
+            }
+            if (method.getDeclaringClass() == WrapsElement.class && !(target instanceof WrapsElement)){
+                return target;
+            }
+            Object[] unwrapped = args;
+            if (args != null){
+                unwrapped = new Object[args.length];
+                for (int i = 0; i < args.length; i++){
+                    unwrapped[i] = args[i] instanceof Object[] ? UnwrapAll((Object[])args[i]) : Unwrap(args[i]);
+                }
+            }
+            Class<?> returned = method.getReturnType();
+            boolean handle = returned.isInterface() && returned.getName().startsWith("org.openqa.selenium.")
+                    && !WebElement.class.isAssignableFrom(returned) && !WebDriver.class.isAssignableFrom(returned);
+            if (!handle && !name.equals("getWrappedDriver") && !name.equals("getWrappedElement")){
+                Count(name);
+            }
+            Object result;
+            try{
+                result = method.invoke(target, unwrapped);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof WebElement || result instanceof WebDriver || handle){
+                return result == target ? proxy : Wrap(result);
+            }
+            if (result instanceof List && List.class.isAssignableFrom(returned)){
+                List<Object> wrapped = new ArrayList<Object>(((List<?>)result).size());
+                for (Object item : (List<?>)result){
+                    wrapped.add(item instanceof WebElement ? Wrap(item) : item);
+                }
+                return wrapped;
+            }
+            return result;
+        }
+
+        private Object[] UnwrapAll(Object[] values){
+            Object[] unwrapped = values.clone();
+            for (int i = 0; i < unwrapped.length; i++){
+                unwrapped[i] = Unwrap(unwrapped[i]);
+            }
+            return unwrapped;
+        }
+    }
+}
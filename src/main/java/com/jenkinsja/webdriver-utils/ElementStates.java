@@ -0,0 +1,132 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.util.List;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Reads whether elements are displayed and enabled, for a whole batch of
+ * elements in one script execution instead of one remote command per element
+ * per state. Falls back to isDisplayed/isEnabled when the driver cannot run
+ * scripts, and for the one read when the batch cannot be sent.
+ */
+final class ElementStates {
+
+    static final int DISPLAYED = 1;
+    static final int ENABLED = 2;
+    static final int CLICKABLE = DISPLAYED | ENABLED;
+
+    /**
+     * Script expression for whether the element e is disabled, itself or by a
+     * disabled fieldset or optgroup it is in, as the :disabled selector has it
+     */
+    static final String DISABLED = "(e.matches ? e.matches(':disabled') : e.disabled)";
+
+    /**
+     * Script function answering the DISPLAYED and ENABLED bits of an element
+     */
+    static final String STATE_FUNCTION =
+            "function displayed(e) {"
+            + "  if (!e.ownerDocument || !e.ownerDocument.documentElement.contains(e)) return false;"
+            + "  if (e.tagName === 'INPUT' && e.type === 'hidden') return false;"
+            + "  var style = window.getComputedStyle(e);"
+            + "  if (style.visibility === 'hidden' || style.visibility === 'collapse') return false;"
+            + "  for (var n = e; n && n.nodeType === 1; n = n.parentElement) {"
+            + "    var s = window.getComputedStyle(n);"
+            + "    if (s.display === 'none' || s.opacity === '0') return false;"
+            + "  }"
+            + "  var rect = e.getBoundingClientRect();"
+            + "  if (rect.width > 0 && rect.height > 0) return true;"
+            + "  for (var c = e.firstElementChild; c; c = c.nextElementSibling) {"
+            + "    var r = c.getBoundingClientRect();"
+            + "    if (r.width > 0 && r.height > 0) return true;"
+            + "  }"
+            + "  return false;"
+            + "}"
+            + "function state(e) {"
+            + "  return (displayed(e) ? 1 : 0) + (" + DISABLED + " ? 0 : 2);"
+            + "}";
+
+    /**
+     * Answers one character per element, '0' plus its state bits
+     */
+    static final String SCRIPT =
+            STATE_FUNCTION
+            + "var elements = arguments[0], states = '';"
+            + "for (var i = 0; i < elements.length; i++) {"
+            + "  states += String.fromCharCode(48 + state(elements[i]));"
+            + "}"
+            + "return states;";
+
+    private final WebDriver driver;
+    private boolean scriptsSupported;
+
+    ElementStates(WebDriver driver){
+        this.driver = driver;
+        this.scriptsSupported = driver instanceof JavascriptExecutor;
+    }
+
+    /**
+     * The DISPLAYED and ENABLED bits of each element, in order.
+     * Elements that are stale or no longer found read as 0.
+     */
+    int[] Read(List<WebElement> elements){
+        if (elements.isEmpty()){
+            return new int[0];
+        }
+        if (scriptsSupported){
+            try{
+                Object result = ((JavascriptExecutor)driver).executeScript(SCRIPT, elements);
+                if (result instanceof String && ((String)result).length() == elements.size()){
+                    return Decode((String)result);
+                }
+                scriptsSupported = false;
+            } catch (StaleElementReferenceException | NotFoundException e) {
+                //One bad element fails the whole batch, read them one at a time instead
+            } catch (UnsupportedCommandException e) {
+                scriptsSupported = false;
+            } catch (WebDriverException e) {
+                //Most likely passing, such as a script timeout; try the script again next time
+            }
+        }
+        return ReadEach(elements);
+    }
+
+    /**
+     * Whether the state bits include all of the required bits
+     */
+    static boolean Has(int state, int required){
+        return (state & required) == required;
+    }
+
+    private static int[] Decode(String states){
+        int[] decoded = new int[states.length()];
+        for (int i = 0; i < decoded.length; i++){
+            decoded[i] = states.charAt(i) - '0';
+        }
+        return decoded;
+    }
+
+    /**
+     * One command per element, plus one for isEnabled on displayed elements
+     */
+    private static int[] ReadEach(List<WebElement> elements){
+        int[] states = new int[elements.size()];
+        for (int i = 0; i < states.length; i++){
+            try{
+                WebElement element = elements.get(i);
+                if (element.isDisplayed()){
+                    states[i] = DISPLAYED | (element.isEnabled() ? ENABLED : 0);
+                }
+            } catch (StaleElementReferenceException | NotFoundException e) {
+                states[i] = 0;
+            }
+        }
+        return states;
+    }
+}
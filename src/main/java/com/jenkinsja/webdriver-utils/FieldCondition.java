@@ -0,0 +1,37 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * The states a page object field can be annotated to wait for.
+ */
+public enum FieldCondition {
+    CLICKABLE(Clickable.class),
+    EXISTENCE(Existence.class),
+    VISIBLE(Visible.class);
+
+    private final Class<? extends Annotation> annotationType;
+
+    FieldCondition(Class<? extends Annotation> annotationType){
+        this.annotationType = annotationType;
+    }
+
+    /**
+     * The annotation that selects this condition
+     */
+    public Class<? extends Annotation> AnnotationType(){
+        return annotationType;
+    }
+
+    /**
+     * Resolve the condition for an annotation, or null if the annotation is not one of ours
+     */
+    public static FieldCondition Of(Annotation annotation){
+        for (FieldCondition condition : values()){
+            if (condition.annotationType == annotation.annotationType()){
+                return condition;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,20 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.util.List;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Receives the annotated fields of a page from a PageLoader.
+ */
+public interface FieldVisitor {
+
+    /**
+     * Visit a field holding a single element
+     */
+    void VisitElement(String name, FieldCondition condition, WebElement element);
+
+    /**
+     * Visit a field holding a list of elements
+     */
+    void VisitElements(String name, FieldCondition condition, List<WebElement> elements);
+}
@@ -0,0 +1,215 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Tracks which fields of a loaded page may have changed, so that loading the
+ * page again only waits on those fields.
+ * After a successful load, the fields' elements are handed to a MutationObserver
+ * in the browser, which marks a field dirty when its elements are removed, when
+ * their subtrees change, or when attributes change on them or their ancestors.
+ * A field is also dirty when the page object now holds a different element for it.
+ * When the observer is gone, after a navigation for instance, every field is dirty.
+ */
+final class FieldWatch {
+
+    private static final AtomicLong IDS = new AtomicLong();
+
+    /**
+     * The number of watches kept per document before the oldest are disconnected
+     */
+    private static final int MAX_WATCHES = 50;
+
+    private static final String INSTALL_SCRIPT =
+            "var id = arguments[0], elements = arguments[1], fields = arguments[2];"
+            + "var watches = window.__webdriverUtilsWatches = window.__webdriverUtilsWatches || {order: [], byId: {}};"
+            + "var old = watches.byId[id];"
+            + "if (old) old.observer.disconnect(); else watches.order.push(id);"
+            + "while (watches.order.length > " + MAX_WATCHES + ") {"
+            + "  var oldest = watches.byId[watches.order.shift()];"
+            + "  if (oldest) { oldest.observer.disconnect(); delete watches.byId[oldest.id]; }"
+            + "}"
+            + "var watch = {id: id, elements: elements, fields: fields, dirty: {}};"
+            + "function touches(record, e) {"
+            + "  if (e.contains(record.target)) return true;"
+            + "  if (record.type === 'attributes') return record.target.contains(e);"
+            + "  for (var n = 0; n < record.removedNodes.length; n++) {"
+            + "    if (record.removedNodes[n].contains(e)) return true;"
+            + "  }"
+            + "  return false;"
+            + "}"
+            + "watch.observer = new MutationObserver(function(records) {"
+            + "  for (var r = 0; r < records.length; r++) {"
+            + "    for (var i = 0; i < elements.length; i++) {"
+            + "      if (!watch.dirty[fields[i]] && touches(records[r], elements[i])) watch.dirty[fields[i]] = true;"
+            + "    }"
+            + "  }"
+            + "});"
+            + "watch.observer.observe(document.documentElement, {attributes: true, childList: true, characterData: true, subtree: true});"
+            + "watches.byId[id] = watch;";
+
+    /**
+     * Answers the dirty field indexes and clears them, or null if the watch is gone
+     */
+    private static final String DIRTY_SCRIPT =
+            "var watches = window.__webdriverUtilsWatches, watch = watches && watches.byId[arguments[0]];"
+            + "if (!watch) return null;"
+            + "for (var i = 0; i < watch.elements.length; i++) {"
+            + "  if (!document.documentElement.contains(watch.elements[i])) watch.dirty[watch.fields[i]] = true;"
+            + "}"
+            + "var dirty = [];"
+            + "for (var f in watch.dirty) dirty.push(Number(f));"
+            + "watch.dirty = {};"
+            + "return dirty;";
+
+    private final WebDriver driver;
+    private final long id = IDS.incrementAndGet();
+    private boolean scriptsSupported;
+    /**
+     * The field values the browser is watching, or null when nothing is watched
+     */
+    private List<Object> watched;
+
+    FieldWatch(WebDriver driver){
+        this.driver = driver;
+        this.scriptsSupported = driver instanceof JavascriptExecutor;
+    }
+
+    /**
+     * Start loading the page again, learning which fields changed since the last successful load
+     */
+    Revalidation Begin(){
+        List<Object> previous = watched;
+        //Until this load succeeds the browser's dirty marks are lost, so nothing counts as watched
+        watched = null;
+        return new Revalidation(previous, previous == null ? null : DirtyFields());
+    }
+
+    private Set<Integer> DirtyFields(){
+        if (!scriptsSupported){
+            return null;
+        }
+        try{
+            Object result = ((JavascriptExecutor)driver).executeScript(DIRTY_SCRIPT, id);
+            if (!(result instanceof List)){
+                return null;
+            }
+            Set<Integer> dirty = new HashSet<Integer>();
+            for (Object index : (List<?>)result){
+                dirty.add(((Number)index).intValue());
+            }
+            return dirty;
+        } catch (WebDriverException e) {
+            return null;
+        }
+    }
+
+    private void Install(List<Object> values){
+        if (!scriptsSupported){
+            return;
+        }
+        List<WebElement> elements = new ArrayList<WebElement>();
+        List<Integer> fields = new ArrayList<Integer>();
+        for (int i = 0; i < values.size(); i++){
+            if (values.get(i) == null){
+                continue;
+            }
+            List<WebElement> fieldElements = values.get(i) instanceof WebElement
+                    ? Collections.singletonList((WebElement)values.get(i))
+                    : new ArrayList<WebElement>((List<WebElement>)values.get(i));
+            for (WebElement element : fieldElements){
+                elements.add(element);
+                fields.add(i);
+            }
+        }
+        try{
+            ((JavascriptExecutor)driver).executeScript(INSTALL_SCRIPT, id, elements, fields);
+            watched = values;
+        } catch (StaleElementReferenceException | NotFoundException e) {
+            //Leave the page unwatched, the next load checks every field
+        } catch (UnsupportedCommandException e) {
+            scriptsSupported = false;
+        } catch (WebDriverException e) {
+            //Likewise unwatched this time, the watch is installed again after the next load
+        }
+    }
+
+    /**
+     * One load of the page: forwards only the dirty fields to the visitor doing the waiting
+     */
+    final class Revalidation implements FieldVisitor {
+        private final List<Object> previous;
+        private final Set<Integer> dirty;
+        private final List<Object> values = new ArrayList<Object>();
+        private FieldVisitor target;
+
+        private Revalidation(List<Object> previous, Set<Integer> dirty){
+            this.previous = previous;
+            this.dirty = dirty;
+        }
+
+        /**
+         * Forward the dirty fields to the given visitor
+         */
+        FieldVisitor Filter(FieldVisitor target){
+            this.target = target;
+            return this;
+        }
+
+        @Override
+        public void VisitElement(String name, FieldCondition condition, WebElement element) {
+            if (IsDirty(element)){
+                target.VisitElement(name, condition, element);
+            }
+        }
+
+        @Override
+        public void VisitElements(String name, FieldCondition condition, List<WebElement> elements) {
+            if (IsDirty(elements)){
+                target.VisitElements(name, condition, elements);
+            }
+        }
+
+        private boolean IsDirty(Object value){
+            int index = values.size();
+            values.add(value);
+            return dirty == null || dirty.contains(index)
+                    || index >= previous.size() || previous.get(index) != value;
+        }
+
+        /**
+         * Every field is ready: keep the browser watching them
+         */
+        void Completed(){
+            if (dirty != null && IsUnchanged()){
+                watched = values;
+            } else {
+                Install(values);
+            }
+        }
+
+        private boolean IsUnchanged(){
+            if (values.size() != previous.size()){
+                return false;
+            }
+            for (int i = 0; i < values.size(); i++){
+                if (values.get(i) != previous.get(i)){
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
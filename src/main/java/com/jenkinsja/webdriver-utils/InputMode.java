@@ -0,0 +1,19 @@
+package java.com.jenkinsja.webdriverutils;
+
+/**
+ * How SendKeys puts text into a field.
+ */
+public enum InputMode {
+    /**
+     * Type the text, unless it is longer than the page's fast input threshold
+     */
+    AUTO,
+    /**
+     * Always type the text as real keystrokes, for fields that react to key events
+     */
+    KEYSTROKES,
+    /**
+     * Always set the value by script and fire the input and change events
+     */
+    SCRIPT
+}
@@ -0,0 +1,156 @@
+package java.com.jenkinsja.webdriverutils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Emits page object actions as Java Flight Recorder events, to line them up with
+ * GC, CPU and allocation in a recording:
+ * webdriverutils.Find for each find, webdriverutils.Wait for each wait, including
+ * each field of WaitUntilLoaded, and webdriverutils.Action for ClickButton, SendKeys,
+ * FillForm and Flush.
+ * When no recording has the event enabled, IsEnabled says so and the page object
+ * reports nothing, so the sink costs next to nothing outside recordings.
+ * Each event is committed when its action finishes, with the time the action
+ * took in its Took field, so they can be handed over from an AsyncActionSink.
+ * Text sent to fields is left out of the events, it may hold passwords.
+ * Needs a JVM with Flight Recorder: JDK 11 or later, or JDK 8u262 or later.
+ * Combine it with the logging sink using ActionSinks.All.
+ */
+public class JfrActionSink implements ActionSink {
+
+    @Name("webdriverutils.Find")
+    @Label("Find Element")
+    @Category("WebDriver Utils")
+    @StackTrace(false)
+    static final class FindEvent extends Event {
+        @Label("Page")
+        Class<?> page;
+        @Label("Locator")
+        String locator;
+        @Label("Found")
+        int found;
+        @Label("Took")
+        @Timespan(Timespan.NANOSECONDS)
+        long took;
+        @Label("Failure")
+        String failure;
+    }
+
+    @Name("webdriverutils.Wait")
+    @Label("Wait")
+    @Category("WebDriver Utils")
+    @Description("A wait on a condition, such as a field of a page being loaded")
+    @StackTrace(false)
+    static final class WaitEvent extends Event {
+        @Label("Page")
+        Class<?> page;
+        @Label("Field")
+        String field;
+        @Label("Condition")
+        String condition;
+        @Label("Polls")
+        int polls;
+        @Label("Took")
+        @Description("How long the wait took; fields of a shared load are reported when ready, having waited since the load started")
+        @Timespan(Timespan.NANOSECONDS)
+        long took;
+        @Label("Failure")
+        String failure;
+    }
+
+    @Name("webdriverutils.Action")
+    @Label("Page Action")
+    @Category("WebDriver Utils")
+    @StackTrace(false)
+    static final class PageActionEvent extends Event {
+        @Label("Page")
+        Class<?> page;
+        @Label("Action")
+        String action;
+        @Label("Field")
+        String field;
+        @Label("Count")
+        int count;
+        @Label("Took")
+        @Timespan(Timespan.NANOSECONDS)
+        long took;
+        @Label("Failure")
+        String failure;
+    }
+
+    private static final EventType FIND = EventType.getEventType(FindEvent.class);
+    private static final EventType WAIT = EventType.getEventType(WaitEvent.class);
+    private static final EventType ACTION = EventType.getEventType(PageActionEvent.class);
+
+    @Override
+    public boolean IsEnabled(ActionType type) {
+        switch (type){
+            case FIND_ELEMENT:
+            case FIND_ELEMENTS:
+                return FIND.isEnabled();
+            case WAIT:
+                return WAIT.isEnabled();
+            case CLICK:
+            case SEND_KEYS:
+            case FILL_FORM:
+            case FLUSH:
+                return ACTION.isEnabled();
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void Started(ActionEvent event) {
+    }
+
+    @Override
+    public void Finished(ActionEvent event) {
+        String failure = event.Failure() == null ? null : event.Failure().getClass().getName();
+        switch (event.Type()){
+            case FIND_ELEMENT:
+            case FIND_ELEMENTS:
+                FindEvent find = new FindEvent();
+                if (find.shouldCommit()){
+                    find.page = event.Page();
+                    find.locator = event.Text();
+                    find.found = event.Failure() == null ? event.Count() : 0;
+                    find.took = event.DurationNanos();
+                    find.failure = failure;
+                    find.commit();
+                }
+                break;
+            case WAIT:
+                WaitEvent wait = new WaitEvent();
+                if (wait.shouldCommit()){
+                    wait.page = event.Page();
+                    wait.field = event.Name();
+                    wait.condition = event.Condition() == null ? null : event.Condition().name();
+                    wait.polls = event.Polls();
+                    wait.took = event.DurationNanos();
+                    wait.failure = failure;
+                    wait.commit();
+                }
+                break;
+            default:
+                PageActionEvent action = new PageActionEvent();
+                if (action.shouldCommit()){
+                    action.page = event.Page();
+                    action.action = event.Type().name();
+                    action.field = event.Name();
+                    action.count = event.Count();
+                    action.took = event.DurationNanos();
+                    action.failure = failure;
+                    action.commit();
+                }
+                break;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One action read back from an ActionJournal.
+ */
+public final class JournalRecord {
+
+    private final ActionType type;
+    private final String page;
+    private final String name;
+    private final String text;
+    private final int count;
+    private final long startMillis;
+    private final long startNanos;
+    private final long durationNanos;
+    private final boolean failed;
+    private final String failure;
+
+    JournalRecord(ActionType type, String page, String name, String text, int count,
+            long startMillis, long startNanos, long durationNanos, boolean failed, String failure){
+        this.type = type;
+        this.page = page;
+        this.name = name;
+        this.text = text;
+        this.count = count;
+        this.startMillis = startMillis;
+        this.startNanos = startNanos;
+        this.durationNanos = durationNanos;
+        this.failed = failed;
+        this.failure = failure;
+    }
+
+    public ActionType Type(){
+        return type;
+    }
+
+    /**
+     * The class name of the page object that performed the action
+     */
+    public String Page(){
+        return page;
+    }
+
+    /**
+     * The name the action was given for its element, or null
+     */
+    public String Name(){
+        return name;
+    }
+
+    /**
+     * The text sent, or the locator of a find, or null.
+     * Unless the journal recorded full text, text sent is only its length, as "<8 characters>".
+     */
+    public String Text(){
+        return text;
+    }
+
+    public int Count(){
+        return count;
+    }
+
+    /**
+     * When the action started, in milliseconds of the journal's clock: since the epoch
+     * for the system clock, and in virtual time for a VirtualClock
+     */
+    public long StartMillis(){
+        return startMillis;
+    }
+
+    /**
+     * When the action started, in the nanosecond time of the page's clock:
+     * the recording JVM's System.nanoTime, or virtual time
+     */
+    public long StartNanos(){
+        return startNanos;
+    }
+
+    public long DurationNanos(){
+        return durationNanos;
+    }
+
+    public boolean Failed(){
+        return failed;
+    }
+
+    /**
+     * The first line of what the action failed with, or null
+     */
+    public String Failure(){
+        return failure;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(startMillis).append(' ').append(type).append(' ').append(page);
+        if (name != null){
+            builder.append(' ').append(name);
+        }
+        if (text != null){
+            builder.append(" \"").append(text).append('"');
+        }
+        builder.append(" x").append(count)
+                .append(' ').append(TimeUnit.NANOSECONDS.toMicros(durationNanos)).append("us");
+        if (failed){
+            builder.append(" FAILED ").append(failure);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,130 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds, in the style of HdrHistogram.
+ * Buckets are log-linear: each power of two is split into 32 buckets, so any
+ * recorded value is reported within about 3% of what it was, from nanoseconds
+ * up to centuries, in a fixed 15 kilobytes.
+ * Recording is a few atomic increments, and histograms merge by adding buckets.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (63 - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Record one latency; negative values count as 0
+     */
+    public void Record(long nanos){
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(Index(value));
+        count.incrementAndGet();
+        totalNanos.addAndGet(value);
+        long max;
+        while (value > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, value)){
+            //Another thread raised the maximum, compare again
+        }
+    }
+
+    /**
+     * Add everything recorded in the other histogram to this one
+     */
+    public void Merge(LatencyHistogram other){
+        for (int i = 0; i < BUCKETS; i++){
+            long bucket = other.counts.get(i);
+            if (bucket != 0){
+                counts.addAndGet(i, bucket);
+            }
+        }
+        count.addAndGet(other.count.get());
+        totalNanos.addAndGet(other.totalNanos.get());
+        long otherMax = other.maxNanos.get();
+        long max;
+        while (otherMax > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, otherMax)){
+            //Another thread raised the maximum, compare again
+        }
+    }
+
+    public long Count(){
+        return count.get();
+    }
+
+    public long MaxNanos(){
+        return maxNanos.get();
+    }
+
+    public long MeanNanos(){
+        long recorded = count.get();
+        return recorded == 0 ? 0 : totalNanos.get() / recorded;
+    }
+
+    /**
+     * The latency at or below which the given percentage of recorded latencies fall,
+     * such as 50, 90 or 99; 0 when nothing is recorded
+     */
+    public long PercentileNanos(double percentile){
+        long recorded = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++){
+            snapshot[i] = counts.get(i);
+            recorded += snapshot[i];
+        }
+        if (recorded == 0){
+            return 0;
+        }
+        long rank = Math.max(1, (long)Math.ceil(Math.min(percentile, 100) / 100 * recorded));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++){
+            seen += snapshot[i];
+            if (seen >= rank){
+                return Math.min(HighestInBucket(i), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    /**
+     * The bucket of a value: values below 32 have a bucket each, and every power
+     * of two above that is split into 32 buckets
+     */
+    private static int Index(long value){
+        if (value < SUB_BUCKETS){
+            return (int)value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int)((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    private static long HighestInBucket(int index){
+        if (index < SUB_BUCKETS){
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowest = (long)(SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + Count()
+                + " p50=" + Millis(PercentileNanos(50))
+                + " p90=" + Millis(PercentileNanos(90))
+                + " p99=" + Millis(PercentileNanos(99))
+                + " max=" + Millis(MaxNanos());
+    }
+
+    static String Millis(long nanos){
+        return String.format("%.1fms", nanos / (double)TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,15 @@
+package java.com.jenkinsja.webdriverutils;
+
+/**
+ * How WaitUntilLoaded waits on the annotated fields of a page.
+ */
+public enum LoadMode {
+    /**
+     * Wait on each field in turn, each with the full timeout
+     */
+    SEQUENTIAL,
+    /**
+     * Poll all pending fields together against one timeout, dropping fields as they become ready
+     */
+    SHARED_DEADLINE
+}
@@ -0,0 +1,160 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.logging.Logger;
+import org.openqa.selenium.WebElement;
+
+/**
+ * The annotated fields of a page class, resolved once per class.
+ * The plan covers public, protected, package and private fields, including
+ * those inherited from superclasses, in declaration order from the top of the
+ * hierarchy down. WaitUntilLoaded walks the plan instead of re-scanning the class,
+ * and reads each field through Field.get, made accessible when the plan is built.
+ * Getters compiled to MethodHandles held in the plan measured no faster, see
+ * FieldReadBenchmark, as a handle in an instance field is not constant-folded.
+ * This is the loader used for page classes without a generated PageLoader.
+ */
+final class LoadPlan implements PageLoader<Object> {
+
+    private final static Logger LOGGER = Logger.getLogger(LoadPlan.class.getName());
+
+    private static final ClassValue<LoadPlan> PLANS = new ClassValue<LoadPlan>() {
+        @Override
+        protected LoadPlan computeValue(Class<?> type) {
+            return new LoadPlan(type);
+        }
+    };
+
+    /**
+     * Whether a field holds a single element or a list of them
+     */
+    enum Kind {
+        ELEMENT,
+        LIST
+    }
+
+    /**
+     * One annotated field and the condition it waits for
+     */
+    static final class Entry {
+        final Field field;
+        final FieldCondition condition;
+        final Kind kind;
+
+        Entry(Field field, FieldCondition condition, Kind kind){
+            this.field = field;
+            this.condition = condition;
+            this.kind = kind;
+        }
+
+        /**
+         * Read the element held by an ELEMENT field
+         */
+        WebElement ReadElement(Object page){
+            return (WebElement)Read(page);
+        }
+
+        /**
+         * Read the elements held by a LIST field
+         */
+        List<WebElement> ReadElements(Object page){
+            return (List<WebElement>)Read(page);
+        }
+
+        private Object Read(Object page){
+            try{
+                return field.get(page);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Could not read field " + field.getName(), e);
+            }
+        }
+    }
+
+    private final List<Entry> entries;
+
+    private LoadPlan(Class<?> type){
+        Deque<Class<?>> hierarchy = new ArrayDeque<Class<?>>();
+        for (Class<?> current = type; current != null && current != PageObject.class; current = current.getSuperclass()){
+            hierarchy.push(current);
+        }
+        List<Entry> found = new ArrayList<Entry>();
+        for (Class<?> current : hierarchy){
+            for (Field field : current.getDeclaredFields()){
+                AddEntries(field, found);
+            }
+        }
+        entries = Collections.unmodifiableList(found);
+    }
+
+    /**
+     * The plan for the given page class, computed on first use
+     */
+    static LoadPlan Of(Class<?> type){
+        return PLANS.get(type);
+    }
+
+    List<Entry> Entries(){
+        return entries;
+    }
+
+    @Override
+    public void Load(Object page, FieldVisitor visitor){
+        for (Entry entry : entries){
+            if (entry.kind == Kind.ELEMENT){
+                visitor.VisitElement(entry.field.getName(), entry.condition, entry.ReadElement(page));
+            } else {
+                visitor.VisitElements(entry.field.getName(), entry.condition, entry.ReadElements(page));
+            }
+        }
+    }
+
+    private static void AddEntries(Field field, List<Entry> found){
+        if (Modifier.isStatic(field.getModifiers())){
+            return;
+        }
+        for (Annotation annotation : field.getDeclaredAnnotations()){
+            FieldCondition condition = FieldCondition.Of(annotation);
+            if (condition == null){
+                continue;
+            }
+            Kind kind = KindOf(field);
+            if (kind == null){
+                LOGGER.info("Ignoring " + field + ", it is neither a WebElement nor a List");
+                return;
+            }
+            if (!MakeAccessible(field)){
+                LOGGER.info("Ignoring " + field + ", it is not accessible");
+                return;
+            }
+            found.add(new Entry(field, condition, kind));
+        }
+    }
+
+    /**
+     * Make the field readable once, so each read skips the access check
+     */
+    private static boolean MakeAccessible(Field field){
+        try{
+            field.setAccessible(true);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static Kind KindOf(Field field){
+        if (WebElement.class.isAssignableFrom(field.getType())){
+            return Kind.ELEMENT;
+        } else if (List.class.isAssignableFrom(field.getType())){
+            return Kind.LIST;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,300 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The timeline of one WaitUntilLoaded call: when the wait on each field started,
+ * when the field was seen ready, and how many checks it took.
+ * The critical field is the one the load could not have finished before, even had
+ * every field been waited on in parallel from the start of the load; the ideal
+ * load time is when it was ready. The time lost is how much longer the load took.
+ * In SEQUENTIAL mode a field that was ready on its first check may have been ready
+ * long before, so only the cost of that check counts towards the ideal; the ideal is
+ * then an estimate, and the loss mostly the checks of fields that were already ready
+ * plus the waits that could have overlapped.
+ * In SHARED_DEADLINE mode every field is waited on from the start, and the loss is
+ * the polling granularity and overhead.
+ */
+public final class LoadReport {
+
+    /**
+     * One field of the load
+     */
+    public static final class Field {
+        private final String name;
+        private final FieldCondition condition;
+        private final long startNanos;
+        private final long readyNanos;
+        private final int polls;
+
+        Field(String name, FieldCondition condition, long startNanos, long readyNanos, int polls){
+            this.name = name;
+            this.condition = condition;
+            this.startNanos = startNanos;
+            this.readyNanos = readyNanos;
+            this.polls = polls;
+        }
+
+        public String Name(){
+            return name;
+        }
+
+        public FieldCondition Condition(){
+            return condition;
+        }
+
+        /**
+         * When the wait on the field started, since the start of the load
+         */
+        public long StartNanos(){
+            return startNanos;
+        }
+
+        /**
+         * When the field was seen ready, since the start of the load, or -1 if it never was
+         */
+        public long ReadyNanos(){
+            return readyNanos;
+        }
+
+        public boolean IsReady(){
+            return readyNanos >= 0;
+        }
+
+        /**
+         * How many times the field was checked; 0 when it was waited on in the browser
+         */
+        public int Polls(){
+            return polls;
+        }
+
+        /**
+         * The latest the field could have been ready by had it been waited on from the start
+         */
+        long IdealNanos(){
+            if (!IsReady()){
+                return Long.MAX_VALUE;
+            }
+            return polls == 1 ? readyNanos - startNanos : readyNanos;
+        }
+    }
+
+    private final Class<?> page;
+    private final LoadMode mode;
+    private final long startMillis;
+    private final List<Field> fields = new ArrayList<Field>();
+    private long totalNanos;
+    private boolean failed;
+
+    LoadReport(Class<?> page, LoadMode mode, long startMillis){
+        this.page = page;
+        this.mode = mode;
+        this.startMillis = startMillis;
+    }
+
+    void Add(Field field){
+        fields.add(field);
+    }
+
+    void Finish(long totalNanos, boolean failed){
+        this.totalNanos = totalNanos;
+        this.failed = failed;
+    }
+
+    public Class<?> Page(){
+        return page;
+    }
+
+    public LoadMode Mode(){
+        return mode;
+    }
+
+    /**
+     * When the load started, in wall clock milliseconds since the epoch
+     */
+    public long StartMillis(){
+        return startMillis;
+    }
+
+    public long TotalNanos(){
+        return totalNanos;
+    }
+
+    /**
+     * Whether the load timed out or failed
+     */
+    public boolean Failed(){
+        return failed;
+    }
+
+    /**
+     * The fields waited on, in the order they were seen ready, any never ready last
+     */
+    public List<Field> Fields(){
+        return Collections.unmodifiableList(fields);
+    }
+
+    /**
+     * The field that held the load up longest, or null when no field was waited on
+     */
+    public Field CriticalField(){
+        Field critical = null;
+        for (Field field : fields){
+            if (critical == null || field.IdealNanos() > critical.IdealNanos()){
+                critical = field;
+            }
+        }
+        return critical;
+    }
+
+    /**
+     * How long the load would have taken with every field waited on in parallel from the start
+     */
+    public long IdealNanos(){
+        Field critical = CriticalField();
+        if (critical == null){
+            return 0;
+        }
+        return critical.IsReady() ? Math.min(critical.IdealNanos(), totalNanos) : totalNanos;
+    }
+
+    /**
+     * How much longer the load took than the parallel ideal
+     */
+    public long LostNanos(){
+        return totalNanos - IdealNanos();
+    }
+
+    /**
+     * The report as a JSON object, with times in milliseconds
+     */
+    public String ToJson(){
+        StringBuilder json = new StringBuilder();
+        Field critical = CriticalField();
+        json.append("{\"page\":").append(Quote(page.getName()))
+                .append(",\"mode\":").append(Quote(mode.name()))
+                .append(",\"startMillis\":").append(startMillis)
+                .append(",\"totalMillis\":").append(Millis(totalNanos))
+                .append(",\"idealMillis\":").append(Millis(IdealNanos()))
+                .append(",\"lostMillis\":").append(Millis(LostNanos()))
+                .append(",\"failed\":").append(failed)
+                .append(",\"criticalField\":").append(critical == null ? "null" : Quote(critical.name))
+                .append(",\"fields\":[");
+        for (int i = 0; i < fields.size(); i++){
+            Field field = fields.get(i);
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"name\":").append(Quote(field.name))
+                    .append(",\"condition\":").append(Quote(field.condition.name()))
+                    .append(",\"startMillis\":").append(Millis(field.startNanos))
+                    .append(",\"readyMillis\":").append(field.IsReady() ? Millis(field.readyNanos) : "null")
+                    .append(",\"polls\":").append(field.polls)
+                    .append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * The reports as a JSON array
+     */
+    public static String ToJson(List<LoadReport> reports){
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < reports.size(); i++){
+            json.append(i == 0 ? "\n" : ",\n").append(reports.get(i).ToJson());
+        }
+        return json.append("\n]\n").toString();
+    }
+
+    /**
+     * A static HTML page showing the report as a timeline
+     */
+    public String ToHtml(){
+        return ToHtml(Collections.singletonList(this));
+    }
+
+    /**
+     * A static HTML page showing each report as a timeline: a bar per field from the
+     * start of its wait to when it was ready, the critical field in red, and a marker
+     * at the parallel ideal
+     */
+    public static String ToHtml(List<LoadReport> reports){
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>Page load timelines</title><style>\n")
+                .append("body{font:13px sans-serif;margin:16px}h2{font-size:15px;margin:24px 0 4px}")
+                .append(".summary{color:#555;margin-bottom:6px}.row{display:flex;align-items:center;height:20px}")
+                .append(".name{width:240px;overflow:hidden;text-overflow:ellipsis;white-space:nowrap}")
+                .append(".lane{position:relative;flex:1;height:14px;background:#f3f3f3}")
+                .append(".bar{position:absolute;top:0;height:14px;background:#6a9fd8;min-width:1px}")
+                .append(".critical{background:#d9534f}.unready{background:repeating-linear-gradient(45deg,#aaa,#aaa 4px,#ddd 4px,#ddd 8px)}")
+                .append(".ideal{position:absolute;top:-3px;bottom:-3px;border-left:2px dashed #333}")
+                .append(".time{width:140px;text-align:right;color:#555}\n</style></head><body>\n");
+        for (LoadReport report : reports){
+            report.AppendHtml(html);
+        }
+        return html.append("</body></html>\n").toString();
+    }
+
+    private void AppendHtml(StringBuilder html){
+        Field critical = CriticalField();
+        double scale = 100.0 / Math.max(totalNanos, 1);
+        html.append("<h2>").append(Escape(page.getName())).append(failed ? " (failed)" : "").append("</h2>\n")
+                .append("<div class=\"summary\">").append(mode).append(", total ").append(Millis(totalNanos))
+                .append(" ms, parallel ideal ").append(Millis(IdealNanos()))
+                .append(" ms, lost ").append(Millis(LostNanos())).append(" ms");
+        if (critical != null){
+            html.append(", critical field <b>").append(Escape(critical.name)).append("</b>");
+        }
+        html.append("</div>\n");
+        for (Field field : fields){
+            long end = field.IsReady() ? field.readyNanos : totalNanos;
+            String type = field == critical ? "bar critical" : field.IsReady() ? "bar" : "bar unready";
+            html.append("<div class=\"row\"><div class=\"name\" title=\"").append(Escape(field.name)).append("\">")
+                    .append(Escape(field.name)).append("</div><div class=\"lane\">")
+                    .append(String.format(Locale.ROOT, "<div class=\"%s\" style=\"left:%.2f%%;width:%.2f%%\" title=\"%s, %d polls\"></div>",
+                            type, field.startNanos * scale, (end - field.startNanos) * scale,
+                            field.condition.name().toLowerCase(), field.polls))
+                    .append(String.format(Locale.ROOT, "<div class=\"ideal\" style=\"left:%.2f%%\"></div>", IdealNanos() * scale))
+                    .append("</div><div class=\"time\">").append(Millis(field.startNanos)).append(" - ")
+                    .append(field.IsReady() ? Millis(field.readyNanos) + " ms" : "never ready").append("</div></div>\n");
+        }
+    }
+
+    private static String Millis(long nanos){
+        return String.format(Locale.ROOT, "%.1f", nanos / (double)TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private static String Quote(String text){
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : text.toCharArray()){
+            switch (c){
+                case '"':
+                    quoted.append("\\\"");
+                    break;
+                case '\\':
+                    quoted.append("\\\\");
+                    break;
+                default:
+                    if (c < 0x20){
+                        quoted.append(String.format(Locale.ROOT, "\\u%04x", (int)c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private static String Escape(String text){
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    @Override
+    public String toString() {
+        Field critical = CriticalField();
+        return page.getName() + " loaded in " + Millis(totalNanos) + " ms, ideal " + Millis(IdealNanos())
+                + " ms, critical field " + (critical == null ? "none" : critical.name);
+    }
+}
@@ -0,0 +1,75 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Collects the LoadReports of page objects, keeping the slowest loads of a run,
+ * failed loads first, to be written out as JSON or HTML at the end.
+ * Page objects report to it once given it with PageObject.SetDefaultLoadReports
+ * or SetLoadReports.
+ */
+public final class LoadReports {
+
+    /**
+     * Failed loads before successful ones, then slower loads before faster ones
+     */
+    private static final Comparator<LoadReport> SLOWEST_FIRST = new Comparator<LoadReport>() {
+        @Override
+        public int compare(LoadReport a, LoadReport b) {
+            if (a.Failed() != b.Failed()){
+                return a.Failed() ? -1 : 1;
+            }
+            return Long.compare(b.TotalNanos(), a.TotalNanos());
+        }
+    };
+
+    private final int capacity;
+    /**
+     * The kept reports, the one to drop first at the head
+     */
+    private final PriorityQueue<LoadReport> kept;
+
+    /**
+     * Keeps the 100 slowest loads
+     */
+    public LoadReports(){
+        this(100);
+    }
+
+    public LoadReports(int capacity){
+        this.capacity = Math.max(capacity, 1);
+        this.kept = new PriorityQueue<LoadReport>(this.capacity + 1, Collections.reverseOrder(SLOWEST_FIRST));
+    }
+
+    public synchronized void Add(LoadReport report){
+        kept.add(report);
+        if (kept.size() > capacity){
+            kept.poll();
+        }
+    }
+
+    /**
+     * The kept reports, slowest first
+     */
+    public synchronized List<LoadReport> Reports(){
+        List<LoadReport> reports = new ArrayList<LoadReport>(kept);
+        Collections.sort(reports, SLOWEST_FIRST);
+        return reports;
+    }
+
+    public void WriteJson(Path file) throws IOException {
+        Files.write(file, LoadReport.ToJson(Reports()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void WriteHtml(Path file) throws IOException {
+        Files.write(file, LoadReport.ToHtml(Reports()).getBytes(StandardCharsets.UTF_8));
+    }
+}
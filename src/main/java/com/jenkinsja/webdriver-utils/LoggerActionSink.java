@@ -0,0 +1,119 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Logs actions through java.util.logging, at INFO, with the messages page objects
+ * have always logged. Nothing is formatted unless the logger takes INFO, and
+ * messages are built in a reused per-thread buffer.
+ */
+public class LoggerActionSink implements ActionSink {
+
+    private static final ThreadLocal<StringBuilder> BUFFERS = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder(256);
+        }
+    };
+
+    private final Logger logger;
+    private final boolean startLines;
+
+    /**
+     * Logs to the PageObject logger, a line when each action starts and when it is done
+     */
+    public LoggerActionSink(){
+        this(Logger.getLogger(PageObject.class.getName()), true);
+    }
+
+    /**
+     * Logs to the given logger, with or without a line when each action starts
+     */
+    public LoggerActionSink(Logger logger, boolean startLines){
+        this.logger = logger;
+        this.startLines = startLines;
+    }
+
+    @Override
+    public boolean IsEnabled(ActionType type) {
+        switch (type){
+            case FIND_ELEMENT:
+            case FIND_ELEMENTS:
+            case WAIT:
+            case LOAD:
+                //Never logged
+                return false;
+            default:
+                return logger.isLoggable(Level.INFO);
+        }
+    }
+
+    @Override
+    public void Started(ActionEvent event) {
+        if (!startLines || !logger.isLoggable(Level.INFO)){
+            return;
+        }
+        StringBuilder message = Buffer();
+        switch (event.Type()){
+            case CLICK:
+                message.append("Clicking element ").append(event.Name());
+                break;
+            case SEND_KEYS:
+                message.append("Sending test \"").append(event.Text()).append("\" to ").append(event.Name());
+                break;
+            case FILL_FORM:
+                message.append("Filling ").append(event.Count()).append(" form fields");
+                break;
+            case FLUSH:
+                message.append("Flushing ").append(event.Count()).append(" queued actions");
+                break;
+            default:
+                //Queueing is reported once it is done
+                return;
+        }
+        logger.info(message.toString());
+    }
+
+    @Override
+    public void Finished(ActionEvent event) {
+        if (!logger.isLoggable(Level.INFO)){
+            return;
+        }
+        StringBuilder message = Buffer();
+        if (event.Type() == ActionType.QUEUE_CLICK){
+            logger.info(message.append("Queueing click on element ").append(event.Name()).toString());
+            return;
+        } else if (event.Type() == ActionType.QUEUE_SEND_KEYS){
+            logger.info(message.append("Queueing test \"").append(event.Text()).append("\" for ").append(event.Name()).toString());
+            return;
+        }
+        message.append(event.Failure() == null ? "Done " : "Failed ");
+        switch (event.Type()){
+            case CLICK:
+                message.append("clicking element ").append(event.Name());
+                break;
+            case SEND_KEYS:
+                message.append("sending test \"").append(event.Text()).append("\" to ").append(event.Name());
+                break;
+            case FILL_FORM:
+                message.append("filling ").append(event.Count()).append(" form fields");
+                break;
+            case FLUSH:
+                message.append("flushing ").append(event.Count()).append(" queued actions");
+                break;
+            default:
+                return;
+        }
+        if (event.Failure() != null){
+            message.append(": ").append(event.Failure());
+        }
+        logger.info(message.toString());
+    }
+
+    private static StringBuilder Buffer(){
+        StringBuilder buffer = BUFFERS.get();
+        buffer.setLength(0);
+        return buffer;
+    }
+}
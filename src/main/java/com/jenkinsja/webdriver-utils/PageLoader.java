@@ -0,0 +1,20 @@
+package java.com.jenkinsja.webdriverutils;
+
+/**
+ * Hands each annotated field of a page to a FieldVisitor.
+ * WaitUntilLoaded uses a generated loader named after the page class with the
+ * suffix "_Loader" when one is on the classpath, see the webdriver-utils-processor
+ * module, and falls back to the reflective LoadPlan otherwise.
+ */
+public interface PageLoader<P> {
+
+    /**
+     * Suffix of generated loader class names, added to the binary name of the page class
+     */
+    String SUFFIX = "$$Loader";
+
+    /**
+     * Visit each annotated field of the page, superclass fields first
+     */
+    void Load(P page, FieldVisitor visitor);
+}
@@ -0,0 +1,47 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.util.logging.Logger;
+
+/**
+ * Resolves the PageLoader for a page class once per class: the generated
+ * loader when present, otherwise the reflective LoadPlan.
+ */
+final class PageLoaders {
+
+    private final static Logger LOGGER = Logger.getLogger(PageLoaders.class.getName());
+
+    private static final ClassValue<PageLoader<Object>> LOADERS = new ClassValue<PageLoader<Object>>() {
+        @Override
+        protected PageLoader<Object> computeValue(Class<?> type) {
+            PageLoader<Object> generated = Generated(type);
+            return generated != null ? generated : LoadPlan.Of(type);
+        }
+    };
+
+    private PageLoaders(){
+    }
+
+    static PageLoader<Object> For(Class<?> type){
+        return LOADERS.get(type);
+    }
+
+    private static PageLoader<Object> Generated(Class<?> type){
+        String name = type.getName() + PageLoader.SUFFIX;
+        Class<?> loaderClass;
+        try{
+            loaderClass = Class.forName(name, true, type.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+        if (!PageLoader.class.isAssignableFrom(loaderClass)){
+            LOGGER.info("Ignoring " + name + ", it is not a PageLoader");
+            return null;
+        }
+        try{
+            return (PageLoader<Object>)loaderClass.getConstructor().newInstance();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.info("Could not create " + name + ", falling back to reflection");
+            return null;
+        }
+    }
+}
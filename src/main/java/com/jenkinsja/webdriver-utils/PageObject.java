@@ -1,16 +1,25 @@
 package java.com.jenkinsja.webdriverutils;
 
-import java.lang.annotation.Annotation;
+import com.google.common.base.Function;
 import java.lang.Class;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.logging.Logger;
-import java.lang.reflect.Field;
+import java.util.Map;
 import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidElementStateException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.Clock;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openqa.selenium.support.ui.Select;
+import org.openqa.selenium.support.ui.SystemClock;
 
 /**
  * Generic class that represents a page object.
@@ -24,13 +33,140 @@ import org.openqa.selenium.support.ui.WebDriverWait;
  */
 public class PageObject<T extends PageObject<T>> {
     
-    private final static Logger LOGGER = Logger.getLogger(PageObject.class.getName());
+    private static volatile WaitStrategy defaultWaitStrategy = new PollingWaitStrategy(30, 500);
+    private static volatile ActionSink defaultActionSink = new LoggerActionSink();
+    private static volatile WaitMetrics defaultWaitMetrics;
+    private static volatile CommandLedger defaultCommandLedger;
+    private static volatile LoadReports defaultLoadReports;
+    private static volatile Clock defaultClock = new SystemClock();
+    private static volatile ReadCache defaultReadCache;
     private WebDriver driver;
-    private WebDriverWait wait;
+    /**
+     * The driver before any read cache wrapped it
+     */
+    private WebDriver uncachedDriver;
+    private WaitStrategy waitStrategy;
+    private LoadMode loadMode = LoadMode.SEQUENTIAL;
+    private ElementStates states;
+    private FieldWatch fieldWatch;
+    private boolean optimisticClicks;
+    private ScriptInput scriptInput;
+    private InputMode inputMode = InputMode.AUTO;
+    private int fastInputThreshold = 1000;
+    private boolean deltaInput;
+    private ActionBatch batch;
+    private ActionSink actionSink;
+    /**
+     * Events reused for reporting actions, one per level of actions in progress
+     */
+    private ActionEvent[] events = new ActionEvent[2];
+    private int eventDepth;
+    private WaitMetrics waitMetrics;
+    private CommandLedger commandLedger;
+    private LoadReports loadReports;
+    /**
+     * The report of the load in progress, and when it started
+     */
+    private LoadReport loadReport;
+    private long loadStartNanos;
+    private LoadReport lastLoadReport;
+    private Clock clock;
+    private ReadCache readCache;
     
     public PageObject(WebDriver driver){
-        this.driver = driver;
-        wait = new WebDriverWait(driver, 30);
+        this(driver, defaultWaitStrategy);
+    }
+    
+    public PageObject(WebDriver driver, WaitStrategy waitStrategy){
+        commandLedger = defaultCommandLedger;
+        uncachedDriver = commandLedger != null ? commandLedger.Wrap(driver) : driver;
+        this.waitStrategy = waitStrategy;
+        //State reads and input scripts run inside waits and writes, which start new epochs themselves
+        states = new ElementStates(uncachedDriver);
+        scriptInput = new ScriptInput(uncachedDriver);
+        SetActionSink(defaultActionSink);
+        waitMetrics = defaultWaitMetrics;
+        loadReports = defaultLoadReports;
+        clock = defaultClock;
+        SetReadCache(defaultReadCache);
+    }
+    
+    /**
+     * Choose the wait strategy of page objects created from now on
+     */
+    public static void SetDefaultWaitStrategy(WaitStrategy waitStrategy){
+        defaultWaitStrategy = waitStrategy;
+    }
+    
+    /**
+     * Choose where page objects created from now on report their actions
+     */
+    public static void SetDefaultActionSink(ActionSink actionSink){
+        defaultActionSink = actionSink;
+    }
+    
+    /**
+     * Choose where page objects created from now on record how long their fields take
+     * to be ready, or null to record nothing
+     */
+    public static void SetDefaultWaitMetrics(WaitMetrics waitMetrics){
+        defaultWaitMetrics = waitMetrics;
+    }
+    
+    /**
+     * Have page objects created from now on wrap their driver to count its commands
+     * in the ledger, or pass null to leave drivers unwrapped
+     */
+    public static void SetDefaultCommandLedger(CommandLedger commandLedger){
+        defaultCommandLedger = commandLedger;
+    }
+    
+    /**
+     * Choose where page objects created from now on report the timeline of each load,
+     * or null to report nothing
+     */
+    public static void SetDefaultLoadReports(LoadReports loadReports){
+        defaultLoadReports = loadReports;
+    }
+    
+    /**
+     * Choose the clock page objects created from now on time their loads, waits and
+     * actions by, such as a VirtualClock in tests; wait strategies keep their own clocks
+     */
+    public static void SetDefaultClock(Clock clock){
+        defaultClock = clock;
+    }
+    
+    /**
+     * Have page objects created from now on cache element reads in the ReadCache,
+     * or pass null to read every time
+     */
+    public static void SetDefaultReadCache(ReadCache readCache){
+        defaultReadCache = readCache;
+    }
+    
+    static WaitStrategy DefaultWaitStrategy(){
+        return defaultWaitStrategy;
+    }
+    
+    static Clock DefaultClock(){
+        return defaultClock;
+    }
+    
+    /**
+     * The page's time in nanoseconds, see Clocks.NanoTime
+     */
+    private long NanoTime(){
+        return Clocks.NanoTime(clock);
+    }
+    
+    /**
+     * The page's driver, counting its commands when the page has a CommandLedger, and
+     * starting a new read epoch when it navigates or runs scripts when the page has a ReadCache.
+     * Give this driver to PageFactory.initElements so the page's fields are counted too.
+     */
+    protected WebDriver Driver(){
+        return driver;
     }
     
     //Location Helpers
@@ -38,28 +174,67 @@ public class PageObject<T extends PageObject<T>> {
      * Pass-through to driver
      */
     public WebElement FindElement(By by){
-        return driver.findElement(by);
+        Flush();
+        return Find(driver, by);
     }
     
     /**
      * Pass-through to driver
      */
     public List<WebElement> FindElements(By by){
-        return driver.findElements(by);
+        Flush();
+        return FindAll(driver, by);
     }
     
     /**
      * Find element under root
      */
     public WebElement FindElement(By by, WebElement root){
-        return root.findElement(by);
+        Flush();
+        return Find(Counted(root), by);
     }
     
     /**
      * Find elements under root
      */
     public List<WebElement> FindElements(By by, WebElement root){
-        return root.findElements(by);
+        Flush();
+        return FindAll(Counted(root), by);
+    }
+    
+    private WebElement Find(SearchContext context, By by){
+        ActionEvent event = Started(ActionType.FIND_ELEMENT, null, by, 1);
+        WebElement element;
+        try{
+            element = context.findElement(by);
+            if (readCache != null){
+                element = readCache.Wrap(element);
+            }
+        } catch (RuntimeException | Error e) {
+            Finished(event, e);
+            throw e;
+        }
+        Finished(event, null);
+        return element;
+    }
+    
+    private List<WebElement> FindAll(SearchContext context, By by){
+        ActionEvent event = Started(ActionType.FIND_ELEMENTS, null, by, 0);
+        List<WebElement> elements;
+        try{
+            elements = context.findElements(by);
+            if (readCache != null){
+                elements = readCache.Wrap(elements);
+            }
+        } catch (RuntimeException | Error e) {
+            Finished(event, e);
+            throw e;
+        }
+        if (event != null){
+            event.SetCount(elements.size());
+        }
+        Finished(event, null);
+        return elements;
     }
     
     //Page Loading
@@ -67,85 +242,354 @@ public class PageObject<T extends PageObject<T>> {
      * Wait for each of the class's fields to meet the qualifications specified
      * by the annotations on that field.
      * When all these conditions are met, we consider the page to be loaded.
+     * The fields are read by the page's generated loader when there is one,
+     * and through the class's cached LoadPlan otherwise.
+     * In SHARED_DEADLINE mode all fields are waited on together within a single timeout.
+     * With incremental revalidation on, loading the page again only waits on the
+     * fields that may have changed since it last loaded.
+     * With load reports on, the timeline of the load is reported, see LoadReport.
      */
     protected T WaitUntilLoaded(){
-        Field[] fields = this.getClass().getFields();
-        for (Field field : fields){
-            Annotation[] annotations = field.getDeclaredAnnotations();
-            for (Annotation annotation : annotations){
-                String annotationName = annotation.toString();
-                if (annotationName.equals("Clickable")){
-                    WaitForClickableField(field);
-                } else if (annotationName.equals("Existence")){
-                    WaitForExistenceField(field);
-                } else if (annotationName.equals("Visible")){
-                    WaitForVisibleField(field);
+        Flush();
+        ActionEvent event = Started(ActionType.LOAD, null, null, 0);
+        long start = NanoTime();
+        loadStartNanos = start;
+        loadReport = loadReports != null ? new LoadReport(this.getClass(), loadMode, System.currentTimeMillis()) : null;
+        try{
+            PageLoader<Object> loader = PageLoaders.For(this.getClass());
+            FieldWatch.Revalidation revalidation = fieldWatch != null ? fieldWatch.Begin() : null;
+            if (loadMode == LoadMode.SEQUENTIAL){
+                FieldVisitor visitor = Counting(fieldWaiter);
+                loader.Load(this, revalidation != null ? revalidation.Filter(visitor) : visitor);
+            } else {
+                boolean listening = waitMetrics != null || loadReport != null || actionSink.IsEnabled(ActionType.WAIT);
+                PendingFields pending = new PendingFields(states, listening ? fieldReady : null, start);
+                FieldVisitor visitor = Counting(pending);
+                loader.Load(this, revalidation != null ? revalidation.Filter(visitor) : visitor);
+                try{
+                    Until(WaitMetrics.LOAD, null, pending);
+                } catch (RuntimeException | Error e) {
+                    pending.GaveUp();
+                    throw e;
                 }
+                pending.AllReady();
+            }
+            if (revalidation != null){
+                revalidation.Completed();
             }
+        } catch (RuntimeException | Error e) {
+            Reported(start, true);
+            Finished(event, e);
+            throw e;
         }
+        Recorded(WaitMetrics.LOAD, start);
+        Reported(start, false);
+        Finished(event, null);
         return (T)this;
     }
     
     /**
-     * Wait for the field with the Clickable annotation to be visible and enabled
+     * Choose how WaitUntilLoaded waits on the page's fields
+     */
+    protected T SetLoadMode(LoadMode loadMode){
+        this.loadMode = loadMode;
+        return (T)this;
+    }
+    
+    /**
+     * Choose how this page object waits
      */
-    private void WaitForClickableField(Field field){
+    protected T SetWaitStrategy(WaitStrategy waitStrategy){
+        this.waitStrategy = waitStrategy;
+        return (T)this;
+    }
+    
+    /**
+     * Wait on a condition with this page object's wait strategy.
+     * The field condition, if any, is what the wait is reported as being for.
+     */
+    private <V> V Until(String name, FieldCondition fieldCondition, Function<? super WebDriver, V> condition){
+        ActionEvent event = Started(ActionType.WAIT, name, null, 1);
+        Function<? super WebDriver, V> polled = condition;
+        PollCounter<V> counter = null;
+        if (event != null){
+            event.SetCondition(fieldCondition);
+            //Pending fields count their own polls, and must reach the strategy as they are
+            if (!(condition instanceof PendingFields)){
+                polled = counter = new PollCounter<V>(condition);
+            }
+        }
+        V value;
+        if (readCache != null){
+            readCache.WaitStarted();
+        }
         try{
-            if (field.getGenericType() instanceof WebElement){
-                WebElement element = (WebElement)(field.get(this));
-                wait.until(ExpectedConditions.elementToBeClickable(element));
-            } else if (field.getGenericType() instanceof List<?>){
-                List<WebElement> elements = (List<WebElement>)(field.get(this));
-                wait.until(ElementsClickable(elements));
+            value = waitStrategy.Until(driver, this.getClass(), name, polled);
+        } catch (RuntimeException | Error e) {
+            Polled(event, counter, condition);
+            Finished(event, e);
+            throw e;
+        } finally {
+            if (readCache != null){
+                readCache.WaitEnded();
             }
-        } catch (IllegalAccessException e) {
-            LOGGER.info("Could not determine field type");
+        }
+        Polled(event, counter, condition);
+        Finished(event, null);
+        return value;
+    }
+    
+    private static void Polled(ActionEvent event, PollCounter<?> counter, Function<?, ?> condition){
+        if (event != null){
+            event.SetPolls(counter != null ? counter.polls : ((PendingFields)condition).Polls());
         }
     }
     
     /**
-     * Wait for the field with the Existence annotation to be in the DOM
+     * Counts the checks of a condition for reporting
      */
-    private void WaitForExistenceField(Field field){
-        try{
-            if (field.getGenericType() instanceof WebElement){
-                WebElement element = (WebElement)(field.get(this));
-                //If we have the element, then it exists
-            } else if (field.getGenericType() instanceof List<?>){
-                List<WebElement> elements = (List<WebElement>)(field.get(this));
-                //If we have a list of elements, then they exists
+    private static final class PollCounter<V> implements Function<WebDriver, V> {
+        private final Function<? super WebDriver, V> condition;
+        private int polls;
+        
+        PollCounter(Function<? super WebDriver, V> condition){
+            this.condition = condition;
+        }
+        
+        @Override
+        public V apply(WebDriver driver) {
+            polls++;
+            return condition.apply(driver);
+        }
+        
+        @Override
+        public String toString() {
+            return condition.toString();
+        }
+    }
+    
+    /**
+     * Hears about the fields of a SHARED_DEADLINE load as each is seen ready,
+     * recording and reporting each as a wait of its own since the load started
+     */
+    private final PendingFields.Listener fieldReady = new PendingFields.Listener() {
+        @Override
+        public void Ready(String name, FieldCondition condition, long startNanos, int polls) {
+            Reported(name, condition, startNanos, NanoTime(), polls);
+            Recorded(name, startNanos);
+            ActionEvent event = Started(ActionType.WAIT, name, null, 1, startNanos);
+            if (event != null){
+                event.SetCondition(condition);
+                event.SetPolls(polls);
+            }
+            Finished(event, null);
+        }
+        
+        @Override
+        public void NotReady(String name, FieldCondition condition, long startNanos, int polls) {
+            Reported(name, condition, startNanos, -1, polls);
+        }
+    };
+    
+    /**
+     * Choose where this page records how long its fields take to be ready, or null to record nothing
+     */
+    protected T SetWaitMetrics(WaitMetrics waitMetrics){
+        this.waitMetrics = waitMetrics;
+        return (T)this;
+    }
+    
+    /**
+     * Record the time since start under the name, if this page records wait metrics
+     */
+    private void Recorded(String name, long start){
+        if (waitMetrics != null){
+            waitMetrics.Record(this.getClass(), name, NanoTime() - start);
+        }
+    }
+    
+    /**
+     * Choose where this page reports the timeline of each load, or null to report nothing
+     */
+    protected T SetLoadReports(LoadReports loadReports){
+        this.loadReports = loadReports;
+        return (T)this;
+    }
+    
+    /**
+     * The timeline of the page's last load, or null if none was reported
+     */
+    public LoadReport LastLoadReport(){
+        return lastLoadReport;
+    }
+    
+    /**
+     * Finish the report of the load started at start, if there is one
+     */
+    private void Reported(long start, boolean failed){
+        if (loadReport != null){
+            loadReport.Finish(NanoTime() - start, failed);
+            loadReports.Add(loadReport);
+            lastLoadReport = loadReport;
+            loadReport = null;
+        }
+    }
+    
+    /**
+     * Add a field to the report of the load in progress, if there is one
+     */
+    private void Reported(String name, FieldCondition condition, long startNanos, long readyNanos, int polls){
+        if (loadReport != null){
+            loadReport.Add(new LoadReport.Field(name, condition, startNanos - loadStartNanos,
+                    readyNanos < 0 ? -1 : readyNanos - loadStartNanos, polls));
+        }
+    }
+    
+    /**
+     * Turn incremental revalidation of the page's fields on or off, see FieldWatch
+     */
+    protected T SetIncrementalRevalidation(boolean incremental){
+        this.fieldWatch = incremental ? new FieldWatch(uncachedDriver) : null;
+        return (T)this;
+    }
+    
+    /**
+     * Waits on each field a PageLoader visits, according to its condition
+     */
+    private final FieldVisitor fieldWaiter = new FieldVisitor() {
+        @Override
+        public void VisitElement(String name, FieldCondition condition, WebElement element) {
+            switch (condition){
+                case CLICKABLE:
+                    WaitForClickableField(name, element);
+                    break;
+                case EXISTENCE:
+                    WaitForExistenceField(name, element);
+                    break;
+                case VISIBLE:
+                    WaitForVisibleField(name, element);
+                    break;
+            }
+        }
+        
+        @Override
+        public void VisitElements(String name, FieldCondition condition, List<WebElement> elements) {
+            switch (condition){
+                case CLICKABLE:
+                    WaitForClickableField(name, elements);
+                    break;
+                case EXISTENCE:
+                    WaitForExistenceField(name, elements);
+                    break;
+                case VISIBLE:
+                    WaitForVisibleField(name, elements);
+                    break;
             }
-        } catch (IllegalAccessException e) {
-            LOGGER.info("Could not determine field type");
         }
+    };
+    
+    /**
+     * Pass the fields a loader reads on to the visitor as elements counting their
+     * commands in the page's ledger.
+     * Revalidation compares the fields as read, so it filters before this.
+     */
+    private FieldVisitor Counting(final FieldVisitor visitor){
+        if (commandLedger == null){
+            return visitor;
+        }
+        return new FieldVisitor() {
+            @Override
+            public void VisitElement(String name, FieldCondition condition, WebElement element) {
+                visitor.VisitElement(name, condition, commandLedger.Wrap(element));
+            }
+            
+            @Override
+            public void VisitElements(String name, FieldCondition condition, List<WebElement> elements) {
+                visitor.VisitElements(name, condition, commandLedger.Wrap(elements));
+            }
+        };
+    }
+    
+    /**
+     * The element, counting its commands in the page's ledger if it has one
+     */
+    private WebElement Counted(WebElement element){
+        return commandLedger != null ? commandLedger.Wrap(element) : element;
+    }
+    
+    /**
+     * Wait for the field with the Clickable annotation to be visible and enabled
+     */
+    private void WaitForClickableField(String name, WebElement element){
+        WaitForField(name, FieldCondition.CLICKABLE, ElementsClickable(Collections.singletonList(element)));
+    }
+    
+    /**
+     * Wait for one of the elements of the list field with the Clickable annotation to be visible and enabled
+     */
+    private void WaitForClickableField(String name, List<WebElement> elements){
+        WaitForField(name, FieldCondition.CLICKABLE, ElementsClickable(elements));
+    }
+    
+    /**
+     * Wait for the field with the Existence annotation to be in the DOM
+     */
+    private void WaitForExistenceField(String name, WebElement element){
+        //If we have the element, then it exists
+    }
+    
+    /**
+     * Wait for the list field with the Existence annotation to be in the DOM
+     */
+    private void WaitForExistenceField(String name, List<WebElement> elements){
+        //If we have a list of elements, then they exists
     }
     
     /**
      * Wait for the field with the Visible annotation to be visible on the page
      */
-    private void WaitForVisibleField(Field field) {
+    private void WaitForVisibleField(String name, WebElement element) {
+        WaitForField(name, FieldCondition.VISIBLE, ExpectedConditions.visibilityOf(element));
+    }
+    
+    /**
+     * Wait for one of the elements of the list field with the Visible annotation to be visible on the page
+     */
+    private void WaitForVisibleField(String name, List<WebElement> elements) {
+        WaitForField(name, FieldCondition.VISIBLE, ElementsVisible(elements));
+    }
+    
+    /**
+     * Wait on the field's condition, recording how long it took to be met
+     */
+    private <V> void WaitForField(String name, FieldCondition fieldCondition, Function<? super WebDriver, V> condition){
+        long start = NanoTime();
+        if (loadReport == null){
+            Until(name, fieldCondition, condition);
+            Recorded(name, start);
+            return;
+        }
+        PollCounter<V> counter = new PollCounter<V>(condition);
         try{
-            if (field.getGenericType() instanceof WebElement){
-                WebElement element = (WebElement)(field.get(this));
-                wait.until(ExpectedConditions.visibilityOf(element));
-            } else if (field.getGenericType() instanceof List<?>){
-                List<WebElement> elements = (List<WebElement>)(field.get(this));
-                wait.until(ElementsVisible(elements));
-            }
-        } catch (IllegalAccessException e) {
-            LOGGER.info("Could not determine field type");
+            Until(name, fieldCondition, counter);
+        } catch (RuntimeException | Error e) {
+            Reported(name, fieldCondition, start, -1, counter.polls);
+            throw e;
         }
+        Reported(name, fieldCondition, start, NanoTime(), counter.polls);
+        Recorded(name, start);
     }
     
     /**
-     * Checks if one of the elements in the list is visible
+     * Checks if one of the elements in the list is visible,
+     * reading all of their states in one batch
      */
-    private static ExpectedCondition<Boolean> ElementsVisible(final List<WebElement> elements) {
+    private ExpectedCondition<Boolean> ElementsVisible(final List<WebElement> elements) {
     	return new ExpectedCondition<Boolean>() {
     		@Override
     		public Boolean apply(WebDriver webDriver) {
-                for (WebElement element : elements){
-                    if (element.isDisplayed()){
+                for (int state : states.Read(new ArrayList<WebElement>(elements))){
+                    if (ElementStates.Has(state, ElementStates.DISPLAYED)){
                         return true;
                     }
                 }
@@ -155,14 +599,15 @@ public class PageObject<T extends PageObject<T>> {
     }
     
     /**
-     * Checks if one of the elements in the list is clickable
+     * Checks if one of the elements in the list is clickable,
+     * reading all of their states in one batch
      */
-    private static ExpectedCondition<Boolean> ElementsClickable(final List<WebElement> elements) {
+    private ExpectedCondition<Boolean> ElementsClickable(final List<WebElement> elements) {
     	return new ExpectedCondition<Boolean>() {
     		@Override
     		public Boolean apply(WebDriver webDriver) {
-                for (WebElement element : elements){
-                    if (element.isDisplayed() && element.isEnabled()){
+                for (int state : states.Read(new ArrayList<WebElement>(elements))){
+                    if (ElementStates.Has(state, ElementStates.CLICKABLE)){
                         return true;
                     }
                 }
@@ -172,19 +617,367 @@ public class PageObject<T extends PageObject<T>> {
     }
     
     //Page Actions
+    /**
+     * Wait for the element to be clickable, then click it.
+     * With optimistic clicks on, click straight away and only wait and retry
+     * if the element turns out not to be ready.
+     */
     public T ClickButton(WebElement element, String name){
-        LOGGER.info("Clicking element " + name);
-        wait.until(ExpectedConditions.elementToBeClickable(element));
-        element.click();
-        LOGGER.info("Done clicking element " + name);
+        element = Counted(element);
+        if (batch != null){
+            batch.Click(element, name);
+            Finished(Started(ActionType.QUEUE_CLICK, name, null, 1), null);
+            return (T)this;
+        }
+        ActionEvent event = Started(ActionType.CLICK, name, null, 1);
+        try{
+            if (optimisticClicks){
+                ClickOptimistically(element, name);
+            } else {
+                Until(name, FieldCondition.CLICKABLE, ExpectedConditions.elementToBeClickable(element));
+                element.click();
+            }
+        } catch (RuntimeException | Error e) {
+            InvalidateReads();
+            Finished(event, e);
+            throw e;
+        }
+        InvalidateReads();
+        Finished(event, null);
+        return (T)this;
+    }
+    
+    /**
+     * Perform the actions queued in batching mode, as few script executions as possible.
+     * Actions the script cannot perform, such as text holding Keys, are performed
+     * one by one through the driver, keeping their order.
+     */
+    public T Flush(){
+        if (batch == null){
+            return (T)this;
+        }
+        List<ActionBatch.Action> actions = batch.Drain();
+        if (actions.isEmpty()){
+            return (T)this;
+        }
+        ActionEvent event = Started(ActionType.FLUSH, null, null, actions.size());
+        ActionBatch queue = batch;
+        //Perform leftovers directly rather than queueing them again
+        batch = null;
+        try{
+            int next = 0;
+            while (next < actions.size()){
+                next = queue.RunScript(actions, next, deltaInput);
+                if (next < actions.size()){
+                    ActionBatch.Action action = actions.get(next++);
+                    if (action.keys == null){
+                        ClickButton(action.element, action.name);
+                    } else {
+                        SendKeys(action.element, action.keys, action.name, action.mode);
+                    }
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            InvalidateReads();
+            Finished(event, e);
+            throw e;
+        } finally {
+            batch = queue;
+        }
+        InvalidateReads();
+        Finished(event, null);
+        return (T)this;
+    }
+    
+    /**
+     * Turn batching mode on or off. In batching mode ClickButton, and SendKeys of text
+     * the input mode sets by script, are queued, and performed together at Flush, or
+     * before the next find, page load or FillForm. Text the input mode types is not
+     * queued: the queue is flushed and the text typed. Each click ends a script, so
+     * actions queued after a click that navigates fail on the new page rather than
+     * being applied to the old one.
+     * Turning batching off flushes the queue.
+     */
+    protected T SetActionBatching(boolean batching){
+        if (!batching){
+            Flush();
+            batch = null;
+        } else if (batch == null){
+            batch = new ActionBatch(uncachedDriver);
+        }
         return (T)this;
     }
     
+    /**
+     * Turn optimistic clicks on or off for ClickButton
+     */
+    protected T SetOptimisticClicks(boolean optimisticClicks){
+        this.optimisticClicks = optimisticClicks;
+        return (T)this;
+    }
+    
+    private void ClickOptimistically(final WebElement element, String name){
+        try{
+            element.click();
+            return;
+        } catch (WebDriverException e) {
+            if (!IsClickNotReady(e)){
+                throw e;
+            }
+        }
+        Until(name, FieldCondition.CLICKABLE, new ExpectedCondition<Boolean>() {
+            @Override
+            public Boolean apply(WebDriver webDriver) {
+                if (!ElementStates.Has(states.Read(Collections.singletonList(element))[0], ElementStates.CLICKABLE)){
+                    return false;
+                }
+                try{
+                    element.click();
+                    return true;
+                } catch (WebDriverException e) {
+                    if (!IsClickNotReady(e)){
+                        throw e;
+                    }
+                    return false;
+                }
+            }
+            
+            @Override
+            public String toString() {
+                return "element to be clicked: " + element;
+            }
+        });
+    }
+    
+    /**
+     * Whether a click failed because the element was not ready for it yet:
+     * not interactable, stale, or covered by another element
+     */
+    private static boolean IsClickNotReady(WebDriverException e){
+        if (e instanceof InvalidElementStateException || e instanceof StaleElementReferenceException){
+            return true;
+        }
+        String message = e.getMessage();
+        return message != null && (message.contains("is not clickable at point") || message.contains("element click intercepted"));
+    }
+    
+    /**
+     * Replace the text of the field, in the page's input mode
+     */
     public T SendKeys(WebElement element, String keys, String name){
-        LOGGER.info("Sending test \"" + keys + "\" to " + name);
-        element.clear();
-        element.sendKeys(keys);
-        LOGGER.info("Done sending test \"" + keys + "\" to " + name);
+        return SendKeys(element, keys, name, inputMode);
+    }
+    
+    /**
+     * Replace the text of the field. Above the fast input threshold, AUTO mode sets
+     * the value by script instead of typing it; use KEYSTROKES for fields that need real keys.
+     * With delta input on, the field's current value is read first: if it already holds
+     * the text nothing is sent, and if it holds the start of the text only the rest is typed.
+     */
+    public T SendKeys(WebElement element, String keys, String name, InputMode mode){
+        element = Counted(element);
+        if (batch != null && ByScript(keys, mode)){
+            batch.SendKeys(element, keys, name, mode);
+            Finished(Started(ActionType.QUEUE_SEND_KEYS, name, keys, 1), null);
+            return (T)this;
+        }
+        //Keystrokes go through the driver, after everything queued before them
+        Flush();
+        ActionEvent event = Started(ActionType.SEND_KEYS, name, keys, 1);
+        try{
+            Type(element, keys, mode);
+        } catch (RuntimeException | Error e) {
+            InvalidateReads();
+            Finished(event, e);
+            throw e;
+        }
+        InvalidateReads();
+        Finished(event, null);
         return (T)this;
     }
+    
+    private void Type(WebElement element, String keys, InputMode mode){
+        String typed = keys;
+        boolean clear = true;
+        if (deltaInput && !ScriptInput.HasSpecialKeys(keys)){
+            String current = element.getAttribute("value");
+            if (keys.equals(current)){
+                return;
+            }
+            if (current != null && !current.isEmpty() && keys.startsWith(current)){
+                typed = keys.substring(current.length());
+                clear = false;
+            }
+        }
+        if (!ByScript(typed, mode) || !scriptInput.SetValue(element, keys)){
+            if (clear){
+                element.clear();
+            }
+            element.sendKeys(typed);
+        }
+    }
+    
+    /**
+     * Whether the input mode sets text by script rather than typing it
+     */
+    private boolean ByScript(String keys, InputMode mode){
+        return mode == InputMode.SCRIPT || mode == InputMode.AUTO && keys.length() > fastInputThreshold;
+    }
+    
+    /**
+     * Fill in a form in one script execution. Inputs and textareas take the text,
+     * selects take the value or text of an option, and checkboxes and radio buttons
+     * take "true" or "false". Radio buttons can only be selected: "false" for one that
+     * is selected fails, select another of its group instead. Fields are filled in the
+     * map's iteration order, and any field the script cannot fill, or whose text holds
+     * Keys, is then filled through the driver instead. Every field needs a value.
+     */
+    public T FillForm(Map<WebElement, String> values){
+        for (Map.Entry<WebElement, String> value : values.entrySet()){
+            if (value.getValue() == null){
+                throw new IllegalArgumentException("FillForm was given no value for " + value.getKey());
+            }
+        }
+        Flush();
+        ActionEvent event = Started(ActionType.FILL_FORM, null, null, values.size());
+        try{
+            List<WebElement> elements = new ArrayList<WebElement>(values.size());
+            for (WebElement element : values.keySet()){
+                elements.add(Counted(element));
+            }
+            List<String> texts = new ArrayList<String>(values.values());
+            for (int index : scriptInput.Fill(elements, texts)){
+                FillField(elements.get(index), texts.get(index));
+            }
+        } catch (RuntimeException | Error e) {
+            InvalidateReads();
+            Finished(event, e);
+            throw e;
+        }
+        InvalidateReads();
+        Finished(event, null);
+        return (T)this;
+    }
+    
+    private void FillField(WebElement element, String value){
+        String type = element.getAttribute("type");
+        if ("select".equalsIgnoreCase(element.getTagName())){
+            Select select = new Select(element);
+            try{
+                select.selectByValue(value);
+            } catch (NoSuchElementException e) {
+                select.selectByVisibleText(value);
+            }
+        } else if ("checkbox".equalsIgnoreCase(type) || "radio".equalsIgnoreCase(type)){
+            boolean selected = Boolean.parseBoolean(value);
+            if (element.isSelected() != selected){
+                if (!selected && "radio".equalsIgnoreCase(type)){
+                    throw new IllegalArgumentException("Cannot unselect radio button " + element
+                            + ", select another of its group instead");
+                }
+                element.click();
+            }
+        } else {
+            element.clear();
+            element.sendKeys(value);
+        }
+    }
+    
+    /**
+     * Choose how SendKeys puts text into fields when no mode is given
+     */
+    protected T SetInputMode(InputMode inputMode){
+        this.inputMode = inputMode;
+        return (T)this;
+    }
+    
+    /**
+     * Turn delta input on or off for SendKeys
+     */
+    protected T SetDeltaInput(boolean deltaInput){
+        this.deltaInput = deltaInput;
+        return (T)this;
+    }
+    
+    /**
+     * Set the text length above which AUTO input mode sets values by script
+     */
+    protected T SetFastInputThreshold(int characters){
+        this.fastInputThreshold = characters;
+        return (T)this;
+    }
+    
+    //Read Caching
+    /**
+     * Cache the reads of elements this page finds in the ReadCache, or pass null to read
+     * every time. The page's driver is wrapped by the cache, see Driver.
+     */
+    protected T SetReadCache(ReadCache readCache){
+        this.readCache = readCache;
+        driver = readCache != null ? readCache.Wrap(uncachedDriver) : uncachedDriver;
+        return (T)this;
+    }
+    
+    /**
+     * Forget every cached element read, after changing the page other than through
+     * this page's actions or its Driver
+     */
+    public T InvalidateReads(){
+        if (readCache != null){
+            readCache.InvalidateReads();
+        }
+        return (T)this;
+    }
+    
+    //Action Reporting
+    /**
+     * Choose where this page reports its actions.
+     * A page counting its commands keeps reporting to its CommandLedger as well.
+     */
+    protected T SetActionSink(ActionSink actionSink){
+        this.actionSink = commandLedger != null ? ActionSinks.All(actionSink, commandLedger) : actionSink;
+        return (T)this;
+    }
+    
+    /**
+     * Report the start of an action, if the sink takes actions of this type.
+     * The text is only turned into a string when the action is reported.
+     * Returns the event to finish, or null when nothing is reported.
+     */
+    private ActionEvent Started(ActionType type, String name, Object text, int count){
+        if (!actionSink.IsEnabled(type)){
+            return null;
+        }
+        return Started(type, name, text, count, NanoTime());
+    }
+    
+    /**
+     * Report an action that started at the given time, in the page's nanosecond time
+     */
+    private ActionEvent Started(ActionType type, String name, Object text, int count, long startNanos){
+        if (!actionSink.IsEnabled(type)){
+            return null;
+        }
+        if (eventDepth == events.length){
+            events = Arrays.copyOf(events, eventDepth * 2);
+        }
+        ActionEvent event = events[eventDepth];
+        if (event == null){
+            event = events[eventDepth] = new ActionEvent();
+        }
+        event.Start(type, this.getClass(), name, text == null ? null : text.toString(), count, startNanos);
+        actionSink.Started(event);
+        //Only once the sink took it, so a sink throwing leaves no event to finish
+        eventDepth++;
+        return event;
+    }
+    
+    private void Finished(ActionEvent event, Throwable failure){
+        if (event == null){
+            return;
+        }
+        eventDepth--;
+        event.Finish(NanoTime(), failure);
+        actionSink.Finished(event);
+    }
 }
\ No newline at end of file
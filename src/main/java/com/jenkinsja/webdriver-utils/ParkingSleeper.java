@@ -0,0 +1,55 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.openqa.selenium.support.ui.Duration;
+import org.openqa.selenium.support.ui.Sleeper;
+
+/**
+ * Sleeps to within microseconds of the requested time, where the system sleeper
+ * rounds down to whole milliseconds and then oversleeps by the scheduler's tick.
+ * It parks the thread until the last stretch of the sleep, then yields until the
+ * deadline, trading a little CPU for accuracy. Meant for polling fast local or
+ * fake drivers at sub-millisecond intervals; select it with Sleepers.
+ */
+public class ParkingSleeper implements Sleeper {
+
+    private final long spinNanos;
+
+    /**
+     * Yields for the last 50 microseconds of each sleep
+     */
+    public ParkingSleeper(){
+        this(50, TimeUnit.MICROSECONDS);
+    }
+
+    /**
+     * Yields instead of parking once the sleep has less than the given time left
+     */
+    public ParkingSleeper(long spin, TimeUnit unit){
+        this.spinNanos = unit.toNanos(spin);
+    }
+
+    @Override
+    public void sleep(Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.in(TimeUnit.NANOSECONDS);
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > spinNanos){
+            LockSupport.parkNanos(this, remaining - spinNanos);
+            if (Thread.interrupted()){
+                throw new InterruptedException();
+            }
+        }
+        while (deadline - System.nanoTime() > 0){
+            Thread.yield();
+            if (Thread.interrupted()){
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ParkingSleeper(spin " + TimeUnit.NANOSECONDS.toMicros(spinNanos) + " us)";
+    }
+}
@@ -0,0 +1,201 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+/**
+ * The fields of a page still waiting to meet their conditions.
+ * A PageLoader fills this in, then each poll re-checks only the pending fields
+ * and drops those that are ready, so one wait covers the whole page.
+ * The states of all pending elements are read together in one batch per poll.
+ * A listener hears when each field turns out to be ready.
+ */
+final class PendingFields implements FieldVisitor, ExpectedCondition<Boolean> {
+
+    /**
+     * Hears about each field as it is seen ready
+     */
+    interface Listener {
+        /**
+         * The field is ready, checked the given number of times since the start, in the page's nanosecond time
+         */
+        void Ready(String name, FieldCondition condition, long startNanos, int polls);
+
+        /**
+         * The wait gave up with the field still not ready
+         */
+        void NotReady(String name, FieldCondition condition, long startNanos, int polls);
+    }
+
+    /**
+     * One field still waiting on its condition
+     */
+    private static final class Check {
+        final String name;
+        final FieldCondition condition;
+        final WebElement element;
+        final List<WebElement> elements;
+
+        Check(String name, FieldCondition condition, WebElement element, List<WebElement> elements){
+            this.name = name;
+            this.condition = condition;
+            this.element = element;
+            this.elements = elements;
+        }
+    }
+
+    private final List<Check> pending = new ArrayList<Check>();
+    private final ElementStates states;
+    private final Listener listener;
+    private final long startNanos;
+    private int polls;
+
+    /**
+     * The listener may be null. The wait starts at startNanos, the time the listener hears
+     * in, by the page's clock.
+     */
+    PendingFields(ElementStates states, Listener listener, long startNanos){
+        this.states = states;
+        this.listener = listener;
+        this.startNanos = startNanos;
+    }
+
+    @Override
+    public void VisitElement(String name, FieldCondition condition, WebElement element) {
+        //If we have the element, then it exists
+        if (condition != FieldCondition.EXISTENCE){
+            pending.add(new Check(name, condition, element, null));
+        }
+    }
+
+    @Override
+    public void VisitElements(String name, FieldCondition condition, List<WebElement> elements) {
+        //If we have a list of elements, then they exists
+        if (condition != FieldCondition.EXISTENCE){
+            pending.add(new Check(name, condition, null, elements));
+        }
+    }
+
+    @Override
+    public Boolean apply(WebDriver webDriver) {
+        polls++;
+        List<WebElement> batch = new ArrayList<WebElement>();
+        int[] counts = new int[pending.size()];
+        for (int i = 0; i < counts.length; i++){
+            Check check = pending.get(i);
+            try{
+                if (check.element != null){
+                    batch.add(check.element);
+                    counts[i] = 1;
+                } else {
+                    //Copy once, a located list finds its elements again on every call
+                    List<WebElement> elements = new ArrayList<WebElement>(check.elements);
+                    batch.addAll(elements);
+                    counts[i] = elements.size();
+                }
+            } catch (StaleElementReferenceException | NotFoundException e) {
+                counts[i] = 0;
+            }
+        }
+        int[] read = states.Read(batch);
+        int offset = 0;
+        Iterator<Check> checks = pending.iterator();
+        for (int i = 0; i < counts.length; i++){
+            Check check = checks.next();
+            int required = RequiredState(check.condition);
+            boolean ready = false;
+            for (int k = offset; k < offset + counts[i]; k++){
+                ready |= ElementStates.Has(read[k], required);
+            }
+            offset += counts[i];
+            if (ready){
+                checks.remove();
+                Ready(check);
+            }
+        }
+        return pending.isEmpty();
+    }
+
+    /**
+     * The wait found every field ready without polling here, in the browser for instance
+     */
+    void AllReady(){
+        for (Check check : pending){
+            Ready(check);
+        }
+        pending.clear();
+    }
+
+    /**
+     * The wait gave up: tell the listener about each field still pending
+     */
+    void GaveUp(){
+        if (listener != null){
+            for (Check check : pending){
+                listener.NotReady(check.name, check.condition, startNanos, polls);
+            }
+        }
+    }
+
+    private void Ready(Check check){
+        if (listener != null){
+            listener.Ready(check.name, check.condition, startNanos, polls);
+        }
+    }
+
+    /**
+     * How many times the fields have been checked
+     */
+    int Polls(){
+        return polls;
+    }
+
+    /**
+     * Whether every field is ready
+     */
+    boolean IsEmpty(){
+        return pending.isEmpty();
+    }
+
+    /**
+     * The pending fields as script arguments: the elements flattened in order,
+     * the index of the field each element belongs to, and the state bits each field requires
+     */
+    Object[] ScriptArguments(){
+        List<WebElement> elements = new ArrayList<WebElement>();
+        List<Integer> fields = new ArrayList<Integer>();
+        List<Integer> required = new ArrayList<Integer>();
+        for (int i = 0; i < pending.size(); i++){
+            Check check = pending.get(i);
+            List<WebElement> checkElements = check.element != null
+                    ? Collections.singletonList(check.element)
+                    : new ArrayList<WebElement>(check.elements);
+            for (WebElement element : checkElements){
+                elements.add(element);
+                fields.add(i);
+            }
+            required.add(RequiredState(check.condition));
+        }
+        return new Object[] {elements, fields, required};
+    }
+
+    private static int RequiredState(FieldCondition condition){
+        return condition == FieldCondition.CLICKABLE ? ElementStates.CLICKABLE : ElementStates.DISPLAYED;
+    }
+
+    @Override
+    public String toString() {
+        List<String> names = new ArrayList<String>();
+        for (Check check : pending){
+            names.add(check.name + " to be " + check.condition.name().toLowerCase());
+        }
+        return "page fields to load, still waiting on " + names;
+    }
+}
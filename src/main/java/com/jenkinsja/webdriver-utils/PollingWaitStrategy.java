@@ -0,0 +1,49 @@
+package java.com.jenkinsja.webdriverutils;
+
+import com.google.common.base.Function;
+import java.util.concurrent.TimeUnit;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Clock;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.SystemClock;
+
+/**
+ * Polls the condition at a fixed interval, as WebDriverWait does.
+ * This is the default strategy: 30 seconds, polling every 500 milliseconds.
+ * Without a sleeper given, it sleeps with the one Sleepers picks for the environment.
+ */
+public class PollingWaitStrategy implements WaitStrategy {
+
+    private final Clock clock;
+    private final Sleeper sleeper;
+    private final long timeoutMillis;
+    private final long intervalNanos;
+
+    public PollingWaitStrategy(long timeoutSeconds, long intervalMillis){
+        this(new SystemClock(), Sleepers.FromEnvironment(), timeoutSeconds, intervalMillis);
+    }
+
+    public PollingWaitStrategy(Clock clock, Sleeper sleeper, long timeoutSeconds, long intervalMillis){
+        this(clock, sleeper, timeoutSeconds, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Polls at an interval in any unit, such as microseconds for a ParkingSleeper
+     */
+    public PollingWaitStrategy(Clock clock, Sleeper sleeper, long timeoutSeconds, long interval, TimeUnit unit){
+        this.clock = clock;
+        this.sleeper = sleeper;
+        this.timeoutMillis = TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        this.intervalNanos = unit.toNanos(interval);
+    }
+
+    @Override
+    public <V> V Until(WebDriver driver, Class<?> page, String name, Function<? super WebDriver, V> condition) {
+        return WaitLoop.Until(driver, condition, clock, sleeper, timeoutMillis, new WaitLoop.Schedule() {
+            @Override
+            public long IntervalNanos(int polls) {
+                return intervalNanos;
+            }
+        });
+    }
+}
@@ -0,0 +1,65 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.WrapsDriver;
+import org.openqa.selenium.internal.WrapsElement;
+
+/**
+ * Proxies for drivers, elements and their handles that keep every interface of the
+ * target, such as JavascriptExecutor or Locatable, as the ledger and read cache wrap them.
+ * The interfaces are worked out once per class of target.
+ */
+final class Proxies {
+
+    private static final ClassLoader LOADER = Proxies.class.getClassLoader();
+
+    private static final ClassValue<Class<?>[]> INTERFACES = new ClassValue<Class<?>[]>() {
+        @Override
+        protected Class<?>[] computeValue(Class<?> type) {
+            Set<Class<?>> interfaces = new LinkedHashSet<Class<?>>();
+            for (Class<?> current = type; current != null; current = current.getSuperclass()){
+                AddInterfaces(current, interfaces);
+            }
+            if (WebDriver.class.isAssignableFrom(type)){
+                interfaces.add(WrapsDriver.class);
+            }
+            if (WebElement.class.isAssignableFrom(type)){
+                interfaces.add(WrapsElement.class);
+            }
+            return interfaces.toArray(new Class<?>[interfaces.size()]);
+        }
+    };
+
+    private Proxies(){
+    }
+
+    /**
+     * A proxy with every interface of the target visible to this library, plus
+     * WrapsDriver for drivers and WrapsElement for elements
+     */
+    static Object Wrap(Object target, InvocationHandler handler){
+        return Proxy.newProxyInstance(LOADER, INTERFACES.get(target.getClass()), handler);
+    }
+
+    private static void AddInterfaces(Class<?> type, Set<Class<?>> interfaces){
+        for (Class<?> implemented : type.getInterfaces()){
+            if (IsVisible(implemented)){
+                interfaces.add(implemented);
+            }
+            AddInterfaces(implemented, interfaces);
+        }
+    }
+
+    private static boolean IsVisible(Class<?> type){
+        try{
+            return Class.forName(type.getName(), false, LOADER) == type;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.WrapsDriver;
+import org.openqa.selenium.internal.WrapsElement;
+
+/**
+ * Remembers what elements answered to reads such as isDisplayed, getText and
+ * getAttribute until the next write, so reading the same state twice in a step costs
+ * one command. Page objects given one with PageObject.SetDefaultReadCache or
+ * SetReadCache hand out caching elements from FindElement and FindElements, keeping
+ * every interface of the element found, such as Locatable for Actions.
+ * Every write starts a new read epoch, forgetting all reads: clicks, keys and clears
+ * on cached elements, and the page's ClickButton, SendKeys, FillForm and Flush.
+ * Waits always read afresh, and start a new epoch when they end. Navigation and
+ * scripts are writes too when sent through the page's Driver, which such page objects
+ * wrap with Wrap, or another driver wrapped with Wrap; after any other change to the
+ * page, such as through the driver the page was created with, call InvalidateReads.
+ * One cache may be shared by the page objects of a driver, and across threads; a
+ * write on any of them forgets every read.
+ */
+public class ReadCache {
+
+    /**
+     * Stands for a read that answered null
+     */
+    private static final Object NULL = new Object();
+
+    private final AtomicLong epoch = new AtomicLong();
+    private final ThreadLocal<int[]> waiting = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[1];
+        }
+    };
+
+    /**
+     * The current read epoch
+     */
+    long Epoch(){
+        return epoch.get();
+    }
+
+    /**
+     * Forget every read
+     */
+    public void InvalidateReads(){
+        epoch.incrementAndGet();
+    }
+
+    /**
+     * Whether reads on this thread skip the cache, because a wait is in progress
+     */
+    boolean Bypassed(){
+        return waiting.get()[0] > 0;
+    }
+
+    /**
+     * Read afresh on this thread until WaitEnded
+     */
+    void WaitStarted(){
+        waiting.get()[0]++;
+    }
+
+    /**
+     * The wait may have seen the page change, so forget every read
+     */
+    void WaitEnded(){
+        waiting.get()[0]--;
+        InvalidateReads();
+    }
+
+    /**
+     * An element remembering its answers to reads for the current read epoch.
+     * Clicks, keys, clears and submits start a new epoch. Failed reads, such as on a
+     * stale element, are not remembered, and reads during a wait go to the element.
+     */
+    WebElement Wrap(WebElement element){
+        if (element == null || IsOwn(element, Reads.class)){
+            return element;
+        }
+        return (WebElement)Proxies.Wrap(element, new Reads(element));
+    }
+
+    List<WebElement> Wrap(List<WebElement> elements){
+        List<WebElement> wrapped = new ArrayList<WebElement>(elements.size());
+        for (WebElement element : elements){
+            wrapped.add(Wrap(element));
+        }
+        return wrapped;
+    }
+
+    /**
+     * A driver that starts a new read epoch whenever it navigates, switches window or
+     * frame, runs a script, changes cookies, or closes. Its elements are not cached.
+     */
+    public WebDriver Wrap(WebDriver driver){
+        if (driver == null || IsOwn(driver, Invalidator.class)){
+            return driver;
+        }
+        return (WebDriver)Proxies.Wrap(driver, new Invalidator(driver));
+    }
+
+    /**
+     * Whether the value is already a proxy of this cache, with the kind of handler
+     */
+    private boolean IsOwn(Object value, Class<? extends Handler> kind){
+        if (!Proxy.isProxyClass(value.getClass())){
+            return false;
+        }
+        InvocationHandler handler = Proxy.getInvocationHandler(value);
+        return kind.isInstance(handler) && ((Handler)handler).Cache() == this;
+    }
+
+    /**
+     * Whether the driver method can change the page, or which page is read
+     */
+    private static boolean IsWrite(String name){
+        return name.equals("get") || name.equals("to") || name.equals("back") || name.equals("forward")
+                || name.equals("refresh") || name.equals("executeScript") || name.equals("executeAsyncScript")
+                || name.equals("frame") || name.equals("parentFrame") || name.equals("window")
+                || name.equals("defaultContent") || name.equals("alert") || name.equals("close")
+                || name.equals("quit") || name.startsWith("addCookie") || name.startsWith("deleteCookie")
+                || name.equals("deleteAllCookies");
+    }
+
+    /**
+     * Calls on a proxy of this cache, answering the identity methods from the target
+     */
+    private abstract class Handler implements InvocationHandler {
+        final Object target;
+
+        Handler(Object target){
+            this.target = target;
+        }
+
+        ReadCache Cache(){
+            return ReadCache.this;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class){
+                if (method.getName().equals("equals")){
+                    Object other = args[0];
+                    if (other != null && Proxy.isProxyClass(other.getClass()) && Proxy.getInvocationHandler(other) instanceof Handler){
+                        other = ((Handler)Proxy.getInvocationHandler(other)).target;
+                    }
+                    return target.equals(other);
+                }
+                return method.invoke(target, args);
+            }
+            //A wrapped driver or element is the target itself; an element's own WrapsDriver names its driver
+            if (method.getDeclaringClass() == WrapsDriver.class && target instanceof WebDriver
+                    || method.getDeclaringClass() == WrapsElement.class && target instanceof WebElement){
+                return target;
+            }
+            return Call(proxy, method, args);
+        }
+
+        abstract Object Call(Object proxy, Method method, Object[] args) throws Throwable;
+
+        final Object Invoke(Method method, Object[] args) throws Throwable {
+            try{
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Starts a new read epoch on every write through the wrapped driver, or through
+     * the navigation and target locator handles it hands out
+     */
+    private final class Invalidator extends Handler {
+
+        Invalidator(Object target){
+            super(target);
+        }
+
+        @Override
+        Object Call(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result;
+            try{
+                result = Invoke(method, args);
+            } finally {
+                if (IsWrite(method.getName())){
+                    InvalidateReads();
+                }
+            }
+            Class<?> returned = method.getReturnType();
+            if (result != null && (returned == WebDriver.Navigation.class || returned == WebDriver.TargetLocator.class
+                    || returned == WebDriver.Options.class)){
+                return Proxies.Wrap(result, new Invalidator(result));
+            }
+            if (result == target){
+                return proxy;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Remembers the reads of one element for the current epoch, and starts a new
+     * epoch on its writes. Only WebElement's own reads are remembered.
+     */
+    private final class Reads extends Handler {
+        private final Map<String, Object> reads = new HashMap<String, Object>();
+        private long epoch = -1;
+
+        Reads(WebElement element){
+            super(element);
+        }
+
+        @Override
+        Object Call(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (method.getDeclaringClass() == WebElement.class && IsElementWrite(name)){
+                try{
+                    return Invoke(method, args);
+                } finally {
+                    InvalidateReads();
+                }
+            }
+            String key = method.getDeclaringClass() == WebElement.class ? ReadKey(name, args) : null;
+            if (key == null){
+                return Invoke(method, args);
+            }
+            Object remembered = Remembered(key);
+            if (remembered != null){
+                return remembered == NULL ? null : remembered;
+            }
+            long readEpoch = Epoch();
+            return Remember(key, readEpoch, Invoke(method, args));
+        }
+
+        /**
+         * The remembered answer to the read, or null if there is none this epoch
+         */
+        private synchronized Object Remembered(String key){
+            if (Bypassed()){
+                return null;
+            }
+            long current = Epoch();
+            if (epoch != current){
+                reads.clear();
+                epoch = current;
+                return null;
+            }
+            return reads.get(key);
+        }
+
+        /**
+         * Remember the answer, unless the epoch moved on while it was read
+         */
+        private synchronized Object Remember(String key, long readEpoch, Object value){
+            if (!Bypassed() && epoch == readEpoch && Epoch() == readEpoch){
+                reads.put(key, value == null ? NULL : value);
+            }
+            return value;
+        }
+    }
+
+    private static boolean IsElementWrite(String name){
+        return name.equals("click") || name.equals("submit") || name.equals("sendKeys") || name.equals("clear");
+    }
+
+    /**
+     * What a read of the element is remembered under, or null if the call is not a read to remember
+     */
+    private static String ReadKey(String name, Object[] args){
+        if (args == null || args.length == 0){
+            if (name.equals("isDisplayed") || name.equals("isEnabled") || name.equals("isSelected")
+                    || name.equals("getText") || name.equals("getTagName") || name.equals("getLocation")
+                    || name.equals("getSize") || name.equals("getRect")){
+                return name;
+            }
+        } else if (args.length == 1 && (name.equals("getAttribute") || name.equals("getCssValue"))){
+            return name + ":" + args[0];
+        }
+        return null;
+    }
+}
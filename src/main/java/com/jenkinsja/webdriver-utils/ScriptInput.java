@@ -0,0 +1,181 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Sets the value of input and textarea elements by script, in one command
+ * however long the value is, instead of typing it character by character.
+ * The value goes through the element's native value setter, so frameworks
+ * tracking the property see the change, followed by bubbling input and change events.
+ * Whole forms, including selects and checkboxes, can be filled in one command too.
+ */
+final class ScriptInput {
+
+    /**
+     * Script function setting an element's value as typing would, answering false if it cannot
+     */
+    static final String SET_VALUE_FUNCTION =
+            "function setValue(e, value) {"
+            + "  var proto = e instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype"
+            + "      : e instanceof HTMLInputElement ? HTMLInputElement.prototype : null;"
+            + "  if (!proto || " + ElementStates.DISABLED + " || e.readOnly) return false;"
+            + "  if (document.activeElement !== e) e.focus();"
+            + "  Object.getOwnPropertyDescriptor(proto, 'value').set.call(e, value);"
+            + "  e.dispatchEvent(new Event('input', {bubbles: true}));"
+            + "  e.dispatchEvent(new Event('change', {bubbles: true}));"
+            + "  return true;"
+            + "}";
+
+    /**
+     * Script function setting the value of a textarea or a text-like input as typing
+     * would, answering false for any other element
+     */
+    static final String SET_TEXT_FUNCTION =
+            SET_VALUE_FUNCTION
+            + "function setText(e, value) {"
+            + "  if (e instanceof HTMLInputElement && !/^(text|search|url|tel|email|password|number)$/.test(e.type)) return false;"
+            + "  return setValue(e, value);"
+            + "}";
+
+    /**
+     * Script function filling any form control: options of selects are matched by
+     * value or text, and checkboxes and radio buttons take "true" or "false"
+     */
+    static final String FILL_FUNCTION =
+            SET_VALUE_FUNCTION
+            + "function fill(e, value) {"
+            + "  if (" + ElementStates.DISABLED + ") return false;"
+            + "  if (e instanceof HTMLSelectElement) {"
+            + "    for (var i = 0; i < e.options.length; i++) {"
+            + "      var option = e.options[i];"
+            + "      if (option.value === value || option.text.trim() === value) {"
+            + "        if (document.activeElement !== e) e.focus();"
+            + "        e.selectedIndex = i;"
+            + "        e.dispatchEvent(new Event('input', {bubbles: true}));"
+            + "        e.dispatchEvent(new Event('change', {bubbles: true}));"
+            + "        return true;"
+            + "      }"
+            + "    }"
+            + "    return false;"
+            + "  }"
+            + "  if (e instanceof HTMLInputElement && (e.type === 'checkbox' || e.type === 'radio')) {"
+            + "    var checked = value === 'true';"
+            + "    if (e.checked === checked) return true;"
+            + "    if (checked || e.type === 'checkbox') { e.click(); return e.checked === checked; }"
+            + "    return false;"
+            + "  }"
+            + "  return setValue(e, value);"
+            + "}";
+
+    private static final String SCRIPT =
+            SET_TEXT_FUNCTION
+            + "return setText(arguments[0], arguments[1]);";
+
+    /**
+     * Answers the indexes of the elements it could not fill
+     */
+    private static final String FILL_SCRIPT =
+            FILL_FUNCTION
+            + "var elements = arguments[0], values = arguments[1], failed = [];"
+            + "for (var i = 0; i < elements.length; i++) {"
+            + "  if (!fill(elements[i], values[i])) failed.push(i);"
+            + "}"
+            + "return failed;";
+
+    private final WebDriver driver;
+    private boolean scriptsSupported;
+
+    ScriptInput(WebDriver driver){
+        this.driver = driver;
+        this.scriptsSupported = driver instanceof JavascriptExecutor;
+    }
+
+    /**
+     * Replace the element's value. Answers false if the value has to be typed instead:
+     * the driver cannot run scripts, the element is not an editable textarea or text-like input,
+     * or the text holds special keys.
+     */
+    boolean SetValue(WebElement element, String value){
+        if (!scriptsSupported || HasSpecialKeys(value)){
+            return false;
+        }
+        try{
+            return Boolean.TRUE.equals(((JavascriptExecutor)driver).executeScript(SCRIPT, element, value));
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Fill each element with its value in one script, answering the indexes of
+     * the elements left unfilled: those whose text holds special keys, which have to
+     * be typed, and all of them if the driver cannot run scripts
+     */
+    List<Integer> Fill(List<WebElement> elements, List<String> values){
+        List<Integer> unfilled = new ArrayList<Integer>();
+        if (scriptsSupported){
+            //The script fills the rest, answering indexes into its own lists
+            List<Integer> scripted = new ArrayList<Integer>(elements.size());
+            List<WebElement> scriptElements = new ArrayList<WebElement>(elements.size());
+            List<String> scriptValues = new ArrayList<String>(values.size());
+            for (int i = 0; i < elements.size(); i++){
+                String value = values.get(i);
+                if (value == null || !HasSpecialKeys(value)){
+                    scripted.add(i);
+                    scriptElements.add(elements.get(i));
+                    scriptValues.add(value);
+                }
+            }
+            try{
+                Object failed = scripted.isEmpty() ? new ArrayList<Object>()
+                        : ((JavascriptExecutor)driver).executeScript(FILL_SCRIPT, scriptElements, scriptValues);
+                if (failed instanceof List){
+                    boolean[] filled = new boolean[elements.size()];
+                    for (int index : scripted){
+                        filled[index] = true;
+                    }
+                    for (Object index : (List<?>)failed){
+                        filled[scripted.get(((Number)index).intValue())] = false;
+                    }
+                    for (int i = 0; i < filled.length; i++){
+                        if (!filled[i]){
+                            unfilled.add(i);
+                        }
+                    }
+                    return unfilled;
+                }
+            } catch (StaleElementReferenceException | NotFoundException e) {
+                //Fill them one at a time, so the others still get filled
+            } catch (UnsupportedCommandException e) {
+                scriptsSupported = false;
+            } catch (WebDriverException e) {
+                //Type them this time, and try the script again next time
+            }
+        }
+        for (int i = 0; i < elements.size(); i++){
+            unfilled.add(i);
+        }
+        return unfilled;
+    }
+
+    /**
+     * Whether the text holds Keys, which Selenium encodes from U+E000 up
+     */
+    static boolean HasSpecialKeys(CharSequence text){
+        for (int i = 0; i < text.length(); i++){
+            char c = text.charAt(i);
+            if (c >= '\uE000' && c <= '\uE0FF'){
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,44 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import org.openqa.selenium.support.ui.Sleeper;
+
+/**
+ * Chooses the sleeper wait strategies poll with when none is given, per environment.
+ * The webdriverutils.sleeper system property, or else the WEBDRIVERUTILS_SLEEPER
+ * environment variable, names it: "system" for the system sleeper, the default, or
+ * "park" for a ParkingSleeper, which suits fast local and fake drivers.
+ * The webdriverutils.sleeper.spinMicros property sets how long the parking sleeper
+ * yields at the end of each sleep.
+ */
+public final class Sleepers {
+
+    private static final Logger LOGGER = Logger.getLogger(Sleepers.class.getName());
+
+    public static final String PROPERTY = "webdriverutils.sleeper";
+    public static final String VARIABLE = "WEBDRIVERUTILS_SLEEPER";
+    public static final String SPIN_PROPERTY = "webdriverutils.sleeper.spinMicros";
+
+    private Sleepers(){
+    }
+
+    /**
+     * The sleeper the environment asks for, the system sleeper if it asks for none
+     * or for one that does not exist
+     */
+    public static Sleeper FromEnvironment(){
+        String name = System.getProperty(PROPERTY);
+        if (name == null){
+            name = System.getenv(VARIABLE);
+        }
+        if (name == null || name.trim().isEmpty() || name.trim().equalsIgnoreCase("system")){
+            return Sleeper.SYSTEM_SLEEPER;
+        }
+        if (name.trim().equalsIgnoreCase("park")){
+            return new ParkingSleeper(Long.getLong(SPIN_PROPERTY, 50), TimeUnit.MICROSECONDS);
+        }
+        LOGGER.warning("Unknown sleeper " + name + ", expected system or park; using the system sleeper");
+        return Sleeper.SYSTEM_SLEEPER;
+    }
+}
@@ -0,0 +1,51 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openqa.selenium.support.ui.Clock;
+import org.openqa.selenium.support.ui.Duration;
+import org.openqa.selenium.support.ui.Sleeper;
+
+/**
+ * A clock that only moves when something sleeps on it or advances it.
+ * Passing one as both the Clock and the Sleeper of a wait strategy makes
+ * timeouts and polling run instantly, for tests of waiting logic.
+ */
+public class VirtualClock implements Clock, Sleeper {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Override
+    public long now() {
+        return TimeUnit.NANOSECONDS.toMillis(nanos.get());
+    }
+
+    @Override
+    public long laterBy(long durationInMillis) {
+        return now() + durationInMillis;
+    }
+
+    @Override
+    public boolean isNowBefore(long endInMillis) {
+        return now() < endInMillis;
+    }
+
+    @Override
+    public void sleep(Duration duration) {
+        Advance(duration.in(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Move the clock forward
+     */
+    public void Advance(long duration, TimeUnit unit){
+        nanos.addAndGet(unit.toNanos(duration));
+    }
+
+    /**
+     * The current virtual time in nanoseconds
+     */
+    public long NanoTime(){
+        return nanos.get();
+    }
+}
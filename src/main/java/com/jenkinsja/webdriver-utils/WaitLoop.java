@@ -0,0 +1,63 @@
+package java.com.jenkinsja.webdriverutils;
+
+import com.google.common.base.Function;
+import java.util.concurrent.TimeUnit;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.Clock;
+import org.openqa.selenium.support.ui.Duration;
+import org.openqa.selenium.support.ui.Sleeper;
+
+/**
+ * The client-side polling loop shared by the polling wait strategies.
+ * Like WebDriverWait, the condition is checked straight away, NotFoundExceptions
+ * count as not ready, and the wait never sleeps past its deadline.
+ */
+final class WaitLoop {
+
+    /**
+     * How long to sleep before each poll
+     */
+    interface Schedule {
+        /**
+         * The interval in nanoseconds to sleep after the given number of polls
+         */
+        long IntervalNanos(int polls);
+    }
+
+    private WaitLoop(){
+    }
+
+    static <V> V Until(WebDriver driver, Function<? super WebDriver, V> condition,
+            Clock clock, Sleeper sleeper, long timeoutMillis, Schedule schedule){
+        long end = clock.laterBy(timeoutMillis);
+        NotFoundException lastException = null;
+        for (int polls = 1; ; polls++){
+            try{
+                V value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)){
+                    return value;
+                }
+            } catch (NotFoundException e) {
+                lastException = e;
+            }
+            long remainingMillis = end - clock.now();
+            if (remainingMillis <= 0){
+                throw new TimeoutException("Expected condition failed: waiting for " + condition
+                        + " (tried for " + timeoutMillis + " ms, " + polls + " polls)", lastException);
+            }
+            Sleep(sleeper, Math.min(schedule.IntervalNanos(polls), TimeUnit.MILLISECONDS.toNanos(remainingMillis)));
+        }
+    }
+
+    private static void Sleep(Sleeper sleeper, long nanos){
+        try{
+            sleeper.sleep(new Duration(nanos, TimeUnit.NANOSECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException(e);
+        }
+    }
+}
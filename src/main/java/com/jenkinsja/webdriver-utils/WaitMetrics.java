@@ -0,0 +1,127 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * How long the fields of each page class take to be ready, as a LatencyHistogram
+ * per page class and field name.
+ * WaitUntilLoaded records the time each waited-on field took to meet its condition:
+ * in SEQUENTIAL mode the time its own wait took, and in SHARED_DEADLINE mode the time
+ * from the start of the load until it was seen ready. The whole load is recorded under
+ * the name WaitUntilLoaded. Fields that are only required to exist are not recorded.
+ * Metrics are off unless page objects are given a WaitMetrics with
+ * PageObject.SetDefaultWaitMetrics or SetWaitMetrics.
+ */
+public final class WaitMetrics {
+
+    /**
+     * The name the whole of WaitUntilLoaded is recorded under
+     */
+    public static final String LOAD = "WaitUntilLoaded";
+
+    private final ConcurrentMap<Class<?>, ConcurrentMap<String, LatencyHistogram>> pages =
+            new ConcurrentHashMap<Class<?>, ConcurrentMap<String, LatencyHistogram>>();
+
+    public void Record(Class<?> page, String name, long nanos){
+        Histogram(page, name).Record(nanos);
+    }
+
+    /**
+     * The histogram of the field, created empty if nothing was recorded for it yet
+     */
+    public LatencyHistogram Histogram(Class<?> page, String name){
+        ConcurrentMap<String, LatencyHistogram> byName = pages.get(page);
+        if (byName == null){
+            ConcurrentMap<String, LatencyHistogram> created = new ConcurrentHashMap<String, LatencyHistogram>();
+            byName = pages.putIfAbsent(page, created);
+            if (byName == null){
+                byName = created;
+            }
+        }
+        LatencyHistogram histogram = byName.get(name);
+        if (histogram == null){
+            LatencyHistogram created = new LatencyHistogram();
+            histogram = byName.putIfAbsent(name, created);
+            if (histogram == null){
+                histogram = created;
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * The names recorded for the page class
+     */
+    public List<String> Names(Class<?> page){
+        ConcurrentMap<String, LatencyHistogram> byName = pages.get(page);
+        return byName == null ? Collections.<String>emptyList() : new ArrayList<String>(byName.keySet());
+    }
+
+    public List<Class<?>> Pages(){
+        return new ArrayList<Class<?>>(pages.keySet());
+    }
+
+    /**
+     * Add everything recorded in the other metrics to these, from another thread or run for instance
+     */
+    public void Merge(WaitMetrics other){
+        for (Map.Entry<Class<?>, ConcurrentMap<String, LatencyHistogram>> page : other.pages.entrySet()){
+            for (Map.Entry<String, LatencyHistogram> field : page.getValue().entrySet()){
+                Histogram(page.getKey(), field.getKey()).Merge(field.getValue());
+            }
+        }
+    }
+
+    /**
+     * Write a table of every field, slowest p99 first
+     */
+    public void Dump(Appendable out) throws IOException {
+        List<Object[]> rows = new ArrayList<Object[]>();
+        for (Map.Entry<Class<?>, ConcurrentMap<String, LatencyHistogram>> page : pages.entrySet()){
+            for (Map.Entry<String, LatencyHistogram> field : page.getValue().entrySet()){
+                LatencyHistogram histogram = field.getValue();
+                rows.add(new Object[] {page.getKey().getName() + "." + field.getKey(), histogram, histogram.PercentileNanos(99)});
+            }
+        }
+        Collections.sort(rows, new Comparator<Object[]>() {
+            @Override
+            public int compare(Object[] a, Object[] b) {
+                return Long.compare((Long)b[2], (Long)a[2]);
+            }
+        });
+        out.append(String.format("%-60s %8s %10s %10s %10s %10s%n", "field", "count", "p50", "p90", "p99", "max"));
+        for (Object[] row : rows){
+            LatencyHistogram histogram = (LatencyHistogram)row[1];
+            out.append(String.format("%-60s %8d %10s %10s %10s %10s%n", row[0], histogram.Count(),
+                    LatencyHistogram.Millis(histogram.PercentileNanos(50)),
+                    LatencyHistogram.Millis(histogram.PercentileNanos(90)),
+                    LatencyHistogram.Millis((Long)row[2]),
+                    LatencyHistogram.Millis(histogram.MaxNanos())));
+        }
+    }
+
+    /**
+     * Dump the metrics to the stream when the JVM exits, at the end of a test run
+     */
+    public void DumpAtExit(final PrintStream out){
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try{
+                    Dump(out);
+                } catch (IOException e) {
+                    //PrintStream does not throw
+                }
+                out.flush();
+            }
+        }, "webdriver-utils-wait-metrics"));
+    }
+}
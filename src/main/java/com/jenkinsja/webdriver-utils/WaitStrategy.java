@@ -0,0 +1,19 @@
+package java.com.jenkinsja.webdriverutils;
+
+import com.google.common.base.Function;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * How a page object waits for a condition.
+ * The strategy is chosen globally with PageObject.SetDefaultWaitStrategy, or per
+ * page object through its constructor or SetWaitStrategy.
+ */
+public interface WaitStrategy {
+
+    /**
+     * Wait until the condition answers something other than null or false, and return it.
+     * The page class and name identify the condition, for strategies that treat conditions differently.
+     * Throws a TimeoutException if the condition is not met in time.
+     */
+    <V> V Until(WebDriver driver, Class<?> page, String name, Function<? super WebDriver, V> condition);
+}
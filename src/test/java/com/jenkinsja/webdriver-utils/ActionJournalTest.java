@@ -0,0 +1,92 @@
+package java.com.jenkinsja.webdriverutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openqa.selenium.NoSuchElementException;
+
+/**
+ * Writing actions to a journal and reading them back
+ */
+public class ActionJournalTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static ActionEvent Finished(ActionType type, String name, String text, long startMillis, long tookMillis, Throwable failure){
+        ActionEvent event = new ActionEvent();
+        event.Start(type, ActionJournalTest.class, name, text, 1, TimeUnit.MILLISECONDS.toNanos(startMillis));
+        event.Finish(TimeUnit.MILLISECONDS.toNanos(startMillis + tookMillis), failure);
+        return event;
+    }
+
+    @Test
+    public void RecordsReadBackAsWritten() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        VirtualClock clock = new VirtualClock();
+        clock.Advance(5, TimeUnit.SECONDS);
+        try (ActionJournal journal = new ActionJournal(directory, 1 << 20, 4, clock)){
+            journal.Finished(Finished(ActionType.CLICK, "submit", null, 6000, 40, null));
+            journal.Finished(Finished(ActionType.FIND_ELEMENT, null, "By.id: missing", 7000, 500, new NoSuchElementException("missing")));
+        }
+        try (ActionJournalReader reader = new ActionJournalReader(directory)){
+            JournalRecord click = reader.Next();
+            assertEquals(ActionType.CLICK, click.Type());
+            assertEquals(ActionJournalTest.class.getName(), click.Page());
+            assertEquals("submit", click.Name());
+            assertEquals(6000, click.StartMillis());
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(40), click.DurationNanos());
+            assertFalse(click.Failed());
+            JournalRecord find = reader.Next();
+            assertEquals(ActionType.FIND_ELEMENT, find.Type());
+            assertEquals("By.id: missing", find.Text());
+            assertEquals(7000, find.StartMillis());
+            assertTrue(find.Failed());
+            assertTrue(find.Failure(), find.Failure().startsWith(NoSuchElementException.class.getName()));
+            assertNull(reader.Next());
+            assertEquals(0, reader.TornRecords());
+        }
+    }
+
+    @Test
+    public void SentTextIsRecordedAsItsLength() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (ActionJournal journal = new ActionJournal(directory, 1 << 20, 4, new VirtualClock())){
+            journal.Finished(Finished(ActionType.SEND_KEYS, "password", "hunter2", 0, 10, null));
+            journal.SetFullText(true);
+            journal.Finished(Finished(ActionType.SEND_KEYS, "user", "jenkins", 10, 10, null));
+        }
+        try (ActionJournalReader reader = new ActionJournalReader(directory)){
+            assertEquals("<7 characters>", reader.Next().Text());
+            assertEquals("jenkins", reader.Next().Text());
+        }
+    }
+
+    @Test
+    public void FullFilesMoveOnToTheNext() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        int records = 0;
+        try (ActionJournal journal = new ActionJournal(directory, 1 << 14, 100, new VirtualClock())){
+            while (ActionJournal.ListFiles(directory).size() < 3){
+                journal.Finished(Finished(ActionType.CLICK, "button" + records, null, records, 1, null));
+                records++;
+            }
+        }
+        try (ActionJournalReader reader = new ActionJournalReader(directory)){
+            for (int i = 0; i < records; i++){
+                JournalRecord record = reader.Next();
+                assertEquals("button" + i, record.Name());
+                assertEquals(i, record.StartMillis());
+            }
+            assertNull(reader.Next());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package java.com.jenkinsja.webdriverutils;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Pairing the start and finish of actions across combined sinks
+ */
+public class ActionSinksTest {
+
+    /**
+     * Records the sequence of each event it is handed, as start or finish
+     */
+    static final class Recording implements ActionSink {
+        final List<String> calls = new ArrayList<String>();
+        boolean enabled = true;
+
+        @Override
+        public boolean IsEnabled(ActionType type) {
+            return enabled;
+        }
+
+        @Override
+        public void Started(ActionEvent event) {
+            calls.add("start " + event.Sequence());
+        }
+
+        @Override
+        public void Finished(ActionEvent event) {
+            calls.add("finish " + event.Sequence());
+        }
+    }
+
+    private static ActionEvent Event(ActionType type){
+        ActionEvent event = new ActionEvent();
+        event.Start(type, ActionSinksTest.class, "field", null, 1, 0);
+        return event;
+    }
+
+    @Test
+    public void CopiesFinishWhatTheOriginalStarted(){
+        Recording sink = new Recording();
+        ActionSink all = ActionSinks.All(sink);
+        ActionEvent event = Event(ActionType.CLICK);
+        all.Started(event);
+        ActionEvent copy = new ActionEvent();
+        copy.CopyFrom(event);
+        all.Finished(copy);
+        assertEquals(2, sink.calls.size());
+        assertEquals("finish " + event.Sequence(), sink.calls.get(1));
+    }
+
+    @Test
+    public void FinishingAnOuterActionDropsInnerOnesNeverFinished(){
+        Recording sink = new Recording();
+        ActionSink all = ActionSinks.All(sink);
+        ActionEvent outer = Event(ActionType.FILL_FORM);
+        ActionEvent inner = Event(ActionType.WAIT);
+        all.Started(outer);
+        all.Started(inner);
+        all.Finished(outer);
+        all.Finished(inner);
+        assertEquals(3, sink.calls.size());
+        assertEquals("finish " + outer.Sequence(), sink.calls.get(2));
+    }
+
+    @Test
+    public void ActionsFinishOnlyOnTheSinksTheyStartedOn(){
+        Recording on = new Recording();
+        Recording off = new Recording();
+        off.enabled = false;
+        ActionSink all = ActionSinks.All(on, off);
+        ActionEvent event = Event(ActionType.SEND_KEYS);
+        all.Started(event);
+        off.enabled = true;
+        all.Finished(event);
+        assertEquals(2, on.calls.size());
+        assertEquals(0, off.calls.size());
+    }
+}
@@ -0,0 +1,66 @@
+package java.com.jenkinsja.webdriverutils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.com.jenkinsja.webdriverutils.fake.FakeWebDriver;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Reading element states by script, and falling back when the script fails
+ */
+public class ElementStatesTest {
+
+    private static List<WebElement> Elements(FakeWebDriver driver){
+        driver.Body().Append("input").SetId("ready");
+        driver.Body().Append("input").SetId("disabled").SetEnabled(false);
+        return Arrays.asList(driver.findElement(By.id("ready")), driver.findElement(By.id("disabled")));
+    }
+
+    @Test
+    public void StatesAreReadInOneScript(){
+        FakeWebDriver driver = FakeScripts.Register(new FakeWebDriver());
+        List<WebElement> elements = Elements(driver);
+        driver.ResetCommands();
+        assertArrayEquals(new int[]{ElementStates.CLICKABLE, ElementStates.DISPLAYED}, new ElementStates(driver).Read(elements));
+        assertEquals(1, driver.CommandCount());
+    }
+
+    @Test
+    public void AFailedScriptFallsBackForThatReadOnly(){
+        FakeWebDriver driver = new FakeWebDriver();
+        final int[] runs = new int[1];
+        driver.OnScript(ElementStates.SCRIPT, new FakeWebDriver.Script() {
+            @Override
+            public Object Run(FakeWebDriver driver, Object... args) {
+                if (runs[0]++ == 0){
+                    throw new ScriptTimeoutException("slow page");
+                }
+                return driver.States((List<?>)args[0]);
+            }
+        });
+        List<WebElement> elements = Elements(driver);
+        ElementStates states = new ElementStates(driver);
+        int[] expected = {ElementStates.CLICKABLE, ElementStates.DISPLAYED};
+        assertArrayEquals(expected, states.Read(elements));
+        assertArrayEquals(expected, states.Read(elements));
+        assertEquals(2, runs[0]);
+    }
+
+    @Test
+    public void AnUnsupportedScriptIsNotTriedAgain(){
+        FakeWebDriver driver = new FakeWebDriver();
+        List<WebElement> elements = Elements(driver);
+        ElementStates states = new ElementStates(driver);
+        states.Read(elements);
+        FakeScripts.Register(driver);
+        driver.ResetCommands();
+        assertArrayEquals(new int[]{ElementStates.CLICKABLE, ElementStates.DISPLAYED}, states.Read(elements));
+        assertEquals(0, driver.CommandCount("executeScript"));
+    }
+}
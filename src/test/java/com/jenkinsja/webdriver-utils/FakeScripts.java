@@ -0,0 +1,26 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.com.jenkinsja.webdriverutils.fake.FakeWebDriver;
+import java.util.List;
+
+/**
+ * Stands in for the library's own scripts on a FakeWebDriver, matched by the very
+ * constants the library runs, so a change to a script cannot bypass its stand-in unnoticed.
+ */
+public final class FakeScripts {
+
+    private FakeScripts(){
+    }
+
+    /**
+     * Register the stand-ins on the driver: the batch read of element states
+     */
+    public static FakeWebDriver Register(FakeWebDriver driver){
+        return driver.OnScript(ElementStates.SCRIPT, new FakeWebDriver.Script() {
+            @Override
+            public Object Run(FakeWebDriver driver, Object... args) {
+                return driver.States((List<?>)args[0]);
+            }
+        });
+    }
+}
@@ -0,0 +1,87 @@
+package java.com.jenkinsja.webdriverutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * Percentiles, merging and precision of the latency histogram
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void AnEmptyHistogramAnswersZero(){
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.Count());
+        assertEquals(0, histogram.MeanNanos());
+        assertEquals(0, histogram.PercentileNanos(99));
+    }
+
+    @Test
+    public void SmallValuesAreExact(){
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10; value++){
+            histogram.Record(value);
+        }
+        assertEquals(5, histogram.PercentileNanos(50));
+        assertEquals(9, histogram.PercentileNanos(90));
+        assertEquals(10, histogram.PercentileNanos(100));
+        assertEquals(5, histogram.MeanNanos());
+    }
+
+    @Test
+    public void NegativeValuesCountAsZero(){
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.Record(-5);
+        assertEquals(1, histogram.Count());
+        assertEquals(0, histogram.PercentileNanos(100));
+    }
+
+    @Test
+    public void PercentilesAreWithinThreePercent(){
+        LatencyHistogram histogram = new LatencyHistogram();
+        Random random = new Random(17);
+        long[] values = new long[10000];
+        for (int i = 0; i < values.length; i++){
+            values[i] = 1 + (long)(random.nextDouble() * TimeUnit.SECONDS.toNanos(5));
+            histogram.Record(values[i]);
+        }
+        Arrays.sort(values);
+        for (double percentile : new double[]{50, 90, 99, 99.9}){
+            long exact = values[(int)Math.ceil(percentile / 100 * values.length) - 1];
+            long reported = histogram.PercentileNanos(percentile);
+            assertTrue("p" + percentile + " " + reported + " against " + exact,
+                    reported >= exact && reported <= exact + exact * 3 / 100);
+        }
+        assertEquals(values[values.length - 1], histogram.PercentileNanos(100));
+    }
+
+    @Test
+    public void PercentilesNeverPassTheMaximum(){
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.Record(1000001);
+        assertEquals(1000001, histogram.PercentileNanos(99));
+        assertEquals(1000001, histogram.MaxNanos());
+    }
+
+    @Test
+    public void MergingAddsEverything(){
+        LatencyHistogram fast = new LatencyHistogram();
+        LatencyHistogram slow = new LatencyHistogram();
+        for (int i = 0; i < 90; i++){
+            fast.Record(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        for (int i = 0; i < 10; i++){
+            slow.Record(TimeUnit.SECONDS.toNanos(1));
+        }
+        fast.Merge(slow);
+        assertEquals(100, fast.Count());
+        assertEquals(TimeUnit.SECONDS.toNanos(1), fast.MaxNanos());
+        assertTrue(fast.PercentileNanos(90) < TimeUnit.MILLISECONDS.toNanos(2));
+        assertTrue(fast.PercentileNanos(91) > TimeUnit.MILLISECONDS.toNanos(900));
+    }
+}
@@ -0,0 +1,178 @@
+package java.com.jenkinsja.webdriverutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.com.jenkinsja.webdriverutils.fake.FakeElement;
+import java.com.jenkinsja.webdriverutils.fake.FakeWebDriver;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Page objects driving a FakeWebDriver in virtual time
+ */
+public class PageObjectTest {
+
+    static final class LoginPage extends PageObject<LoginPage> {
+        @Visible
+        WebElement user;
+        @Clickable
+        WebElement submit;
+
+        LoginPage(WebDriver driver){
+            super(driver);
+        }
+
+        LoginPage Load(){
+            return WaitUntilLoaded();
+        }
+
+        LoginPage Mode(LoadMode mode){
+            return SetLoadMode(mode);
+        }
+
+        LoginPage Batching(boolean batching){
+            return SetActionBatching(batching);
+        }
+    }
+
+    private VirtualTimeHarness harness;
+    private FakeWebDriver driver;
+    private FakeElement user;
+    private FakeElement submit;
+
+    @Before
+    public void SetUp(){
+        harness = new VirtualTimeHarness().Install();
+        PageObject.SetDefaultActionSink(ActionSinks.All());
+        driver = harness.Driver();
+        user = driver.Body().Append("input").SetId("user");
+        submit = driver.Body().Append("button").SetId("submit");
+    }
+
+    @After
+    public void TearDown(){
+        PageObject.SetDefaultActionSink(new LoggerActionSink());
+        harness.close();
+    }
+
+    private LoginPage Page(){
+        LoginPage page = new LoginPage(driver);
+        page.user = driver.findElement(By.id("user"));
+        page.submit = driver.findElement(By.id("submit"));
+        return page;
+    }
+
+    @Test
+    public void LoadWaitsForFieldsToBeReady(){
+        user.DisplayedAfter(3, TimeUnit.SECONDS);
+        submit.EnabledAfter(5, TimeUnit.SECONDS);
+        Page().Load();
+        long elapsed = harness.ElapsedMillis();
+        assertTrue("loaded after " + elapsed + " ms", elapsed >= 5000 && elapsed <= 5500);
+    }
+
+    @Test
+    public void LoadTimesOutOnAFieldThatNeverShows(){
+        user.SetDisplayed(false);
+        try{
+            Page().Load();
+            fail("loaded a page with a hidden field");
+        } catch (TimeoutException e) {
+            assertEquals(30000, harness.ElapsedMillis(), 500);
+        }
+    }
+
+    @Test
+    public void SharedDeadlineLoadReadsStatesInOneScript(){
+        user.DisplayedAfter(1, TimeUnit.SECONDS);
+        LoginPage page = Page().Mode(LoadMode.SHARED_DEADLINE);
+        driver.ResetCommands();
+        page.Load();
+        assertTrue(driver.CommandCount("executeScript") > 0);
+        assertEquals(0, driver.CommandCount("isDisplayed"));
+        assertEquals(0, driver.CommandCount("isEnabled"));
+    }
+
+    @Test
+    public void ClickButtonWaitsUntilClickable(){
+        submit.EnabledAfter(2, TimeUnit.SECONDS);
+        Page().ClickButton(driver.findElement(By.id("submit")), "submit");
+        assertEquals(1, submit.Clicks());
+        assertTrue(harness.ElapsedMillis() >= 2000);
+    }
+
+    @Test
+    public void SendKeysReplacesTheText(){
+        user.SetAttribute("value", "old");
+        Page().SendKeys(driver.findElement(By.id("user")), "new", "user");
+        assertEquals("new", user.Value());
+    }
+
+    @Test
+    public void FillFormFillsEachField(){
+        FakeElement email = driver.Body().Append("input").SetId("email");
+        Map<WebElement, String> values = new LinkedHashMap<WebElement, String>();
+        values.put(driver.findElement(By.id("user")), "jenkins");
+        values.put(driver.findElement(By.id("email")), "jenkins@example.com");
+        Page().FillForm(values);
+        assertEquals("jenkins", user.Value());
+        assertEquals("jenkins@example.com", email.Value());
+    }
+
+    @Test
+    public void BatchedTextTheModeTypesIsTypedStraightAway(){
+        LoginPage page = Page().Batching(true);
+        page.ClickButton(driver.findElement(By.id("submit")), "submit");
+        page.SendKeys(driver.findElement(By.id("user")), "jenkins", "user");
+        assertEquals(1, submit.Clicks());
+        assertEquals("jenkins", user.Value());
+    }
+
+    @Test
+    public void BatchedClicksWaitForTheFlush(){
+        LoginPage page = Page().Batching(true);
+        page.ClickButton(driver.findElement(By.id("submit")), "submit");
+        assertEquals(0, submit.Clicks());
+        page.Flush();
+        assertEquals(1, submit.Clicks());
+    }
+
+    @Test
+    public void FillFormRejectsMissingValuesUpFront(){
+        Map<WebElement, String> values = new LinkedHashMap<WebElement, String>();
+        values.put(driver.findElement(By.id("user")), null);
+        LoginPage page = Page();
+        driver.ResetCommands();
+        try{
+            page.FillForm(values);
+            fail("filled a field with no value");
+        } catch (IllegalArgumentException e) {
+            assertEquals(0, driver.CommandCount());
+        }
+    }
+
+    @Test
+    public void FillFormCannotUnselectARadioButton(){
+        driver.Body().Append("input").SetId("yes").SetAttribute("type", "radio");
+        WebElement yes = driver.findElement(By.id("yes"));
+        yes.click();
+        Map<WebElement, String> values = new LinkedHashMap<WebElement, String>();
+        values.put(yes, "false");
+        try{
+            Page().FillForm(values);
+            fail("unselected a radio button");
+        } catch (IllegalArgumentException e) {
+            assertTrue(yes.isSelected());
+        }
+    }
+}
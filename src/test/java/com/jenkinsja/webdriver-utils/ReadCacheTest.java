@@ -0,0 +1,57 @@
+package java.com.jenkinsja.webdriverutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.com.jenkinsja.webdriverutils.fake.FakeWebDriver;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.FindsById;
+import org.openqa.selenium.internal.WrapsElement;
+
+/**
+ * Reads remembered until the next write, through proxies keeping every interface
+ */
+public class ReadCacheTest {
+
+    @Test
+    public void ReadsAreRememberedUntilAWrite(){
+        FakeWebDriver driver = new FakeWebDriver();
+        driver.Body().Append("input").SetId("q");
+        ReadCache cache = new ReadCache();
+        WebElement element = cache.Wrap(driver.findElement(By.id("q")));
+        driver.ResetCommands();
+        element.isDisplayed();
+        element.isDisplayed();
+        assertEquals(1, driver.CommandCount("isDisplayed"));
+        element.click();
+        element.isDisplayed();
+        assertEquals(2, driver.CommandCount("isDisplayed"));
+    }
+
+    @Test
+    public void ProxiesKeepTheTargetsInterfaces(){
+        FakeWebDriver driver = new FakeWebDriver();
+        driver.Body().Append("input").SetId("q");
+        ReadCache cache = new ReadCache();
+        WebElement found = driver.findElement(By.id("q"));
+        WebElement element = cache.Wrap(found);
+        assertTrue(element instanceof FindsById);
+        assertSame(found, ((WrapsElement)element).getWrappedElement());
+        assertTrue(cache.Wrap((WebDriver)driver) instanceof JavascriptExecutor);
+    }
+
+    @Test
+    public void WrappingTwiceOrNothingIsANoOp(){
+        ReadCache cache = new ReadCache();
+        WebDriver driver = cache.Wrap((WebDriver)new FakeWebDriver());
+        assertSame(driver, cache.Wrap(driver));
+        assertNull(cache.Wrap((WebDriver)null));
+        assertNull(cache.Wrap((WebElement)null));
+    }
+}
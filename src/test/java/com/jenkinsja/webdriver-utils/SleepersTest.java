@@ -0,0 +1,67 @@
+package java.com.jenkinsja.webdriverutils;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import org.openqa.selenium.support.ui.Duration;
+import org.openqa.selenium.support.ui.Sleeper;
+
+/**
+ * The parking sleeper, and choosing a sleeper from the environment
+ */
+public class SleepersTest {
+
+    @After
+    public void TearDown(){
+        System.clearProperty(Sleepers.PROPERTY);
+        System.clearProperty(Sleepers.SPIN_PROPERTY);
+    }
+
+    @Test
+    public void ParkingSleepsAtLeastTheDuration() throws InterruptedException {
+        Sleeper sleeper = new ParkingSleeper();
+        for (long micros : new long[]{20, 300, 2000}){
+            long start = System.nanoTime();
+            sleeper.sleep(new Duration(micros, TimeUnit.MICROSECONDS));
+            long slept = System.nanoTime() - start;
+            assertTrue(slept + " ns for " + micros + " us", slept >= TimeUnit.MICROSECONDS.toNanos(micros));
+        }
+    }
+
+    @Test
+    public void ParkingStopsWhenInterrupted(){
+        Thread.currentThread().interrupt();
+        long start = System.nanoTime();
+        try{
+            new ParkingSleeper().sleep(new Duration(10, TimeUnit.SECONDS));
+            fail("slept through an interrupt");
+        } catch (InterruptedException e) {
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void TheEnvironmentCanAskForParking(){
+        System.setProperty(Sleepers.PROPERTY, " Park ");
+        System.setProperty(Sleepers.SPIN_PROPERTY, "20");
+        Sleeper sleeper = Sleepers.FromEnvironment();
+        assertTrue(sleeper instanceof ParkingSleeper);
+        assertTrue(sleeper.toString(), sleeper.toString().contains("spin 20 us"));
+    }
+
+    @Test
+    public void TheSystemSleeperIsTheDefault(){
+        System.setProperty(Sleepers.PROPERTY, "");
+        assertSame(Sleeper.SYSTEM_SLEEPER, Sleepers.FromEnvironment());
+        System.setProperty(Sleepers.PROPERTY, "system");
+        assertSame(Sleeper.SYSTEM_SLEEPER, Sleepers.FromEnvironment());
+        System.setProperty(Sleepers.PROPERTY, "busy");
+        assertSame(Sleeper.SYSTEM_SLEEPER, Sleepers.FromEnvironment());
+    }
+}
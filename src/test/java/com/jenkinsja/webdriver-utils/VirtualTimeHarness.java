@@ -0,0 +1,101 @@
+package java.com.jenkinsja.webdriverutils;
+
+import java.com.jenkinsja.webdriverutils.fake.FakeWebDriver;
+import java.com.jenkinsja.webdriverutils.fake.LatencyModel;
+import java.com.jenkinsja.webdriverutils.fake.LatencyModels;
+import java.io.Closeable;
+import org.openqa.selenium.support.ui.Clock;
+
+/**
+ * Runs page objects and their waits in virtual time, for tests of waiting logic.
+ * Everything it hands out shares one VirtualClock: fake drivers delay their elements
+ * and commands by it, and wait strategies time out and poll on it, so sleeping moves
+ * the clock on instead of blocking and a 30 second timeout passes at once.
+ * While installed, page objects created are timed by the clock and wait with the
+ * chosen strategy; close puts the previous defaults back.
+ * Page object defaults are global, so tests sharing a JVM should not install
+ * harnesses concurrently.
+ */
+public final class VirtualTimeHarness implements Closeable {
+
+    private final VirtualClock clock = new VirtualClock();
+    private final long startNanos = clock.NanoTime();
+    private WaitStrategy savedWaitStrategy;
+    private Clock savedClock;
+    private boolean installed;
+
+    public VirtualClock Clock(){
+        return clock;
+    }
+
+    /**
+     * A fake driver on the clock, answering at once
+     */
+    public FakeWebDriver Driver(){
+        return Driver(LatencyModels.None(), 0);
+    }
+
+    /**
+     * A fake driver on the clock, each command taking a latency drawn from the model
+     */
+    public FakeWebDriver Driver(LatencyModel latency, long seed){
+        return FakeScripts.Register(new FakeWebDriver(clock, clock, latency, seed));
+    }
+
+    public PollingWaitStrategy Polling(long timeoutSeconds, long intervalMillis){
+        return new PollingWaitStrategy(clock, clock, timeoutSeconds, intervalMillis);
+    }
+
+    public BackoffWaitStrategy Backoff(long timeoutSeconds, long initialMillis, long maximumMillis){
+        return new BackoffWaitStrategy(clock, clock, timeoutSeconds, initialMillis, maximumMillis);
+    }
+
+    public AdaptiveWaitStrategy Adaptive(long timeoutSeconds, long rampMillis, int rampPolls, long maximumMillis){
+        return new AdaptiveWaitStrategy(clock, clock, timeoutSeconds, rampMillis, rampPolls, maximumMillis);
+    }
+
+    public BrowserWaitStrategy Browser(long timeoutSeconds, long scriptTimeoutSeconds, WaitStrategy fallback){
+        return new BrowserWaitStrategy(clock, timeoutSeconds, scriptTimeoutSeconds, fallback);
+    }
+
+    /**
+     * Install with the default wait of page objects, polling every 500 ms for up to 30 seconds
+     */
+    public VirtualTimeHarness Install(){
+        return Install(Polling(30, 500));
+    }
+
+    /**
+     * Have page objects created from now on wait with the strategy, which should run on
+     * the clock, and be timed by the clock
+     */
+    public VirtualTimeHarness Install(WaitStrategy waitStrategy){
+        if (!installed){
+            savedWaitStrategy = PageObject.DefaultWaitStrategy();
+            savedClock = PageObject.DefaultClock();
+            installed = true;
+        }
+        PageObject.SetDefaultWaitStrategy(waitStrategy);
+        PageObject.SetDefaultClock(clock);
+        return this;
+    }
+
+    /**
+     * The virtual time passed since the harness was created
+     */
+    public long ElapsedMillis(){
+        return (clock.NanoTime() - startNanos) / 1000000;
+    }
+
+    /**
+     * Put back the page object defaults from before the harness was installed
+     */
+    @Override
+    public void close() {
+        if (installed){
+            PageObject.SetDefaultWaitStrategy(savedWaitStrategy);
+            PageObject.SetDefaultClock(savedClock);
+            installed = false;
+        }
+    }
+}
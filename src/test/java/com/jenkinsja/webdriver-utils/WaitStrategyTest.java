@@ -0,0 +1,145 @@
+package java.com.jenkinsja.webdriverutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.base.Function;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * The client-side wait strategies, polling in virtual time
+ */
+public class WaitStrategyTest {
+
+    /**
+     * A condition met from a given virtual time on, noting when it was polled
+     */
+    static final class ReadyAt implements Function<WebDriver, Boolean> {
+        final VirtualClock clock;
+        final long readyNanos;
+        final List<Long> polledMillis = new ArrayList<Long>();
+        boolean throwUntilReady;
+
+        ReadyAt(VirtualClock clock, long readyMillis){
+            this.clock = clock;
+            this.readyNanos = clock.NanoTime() + TimeUnit.MILLISECONDS.toNanos(readyMillis);
+        }
+
+        @Override
+        public Boolean apply(WebDriver driver) {
+            polledMillis.add(TimeUnit.NANOSECONDS.toMillis(clock.NanoTime()));
+            if (clock.NanoTime() >= readyNanos){
+                return true;
+            }
+            if (throwUntilReady){
+                throw new NoSuchElementException("not yet");
+            }
+            return false;
+        }
+    }
+
+    private static final WaitLoop.Schedule EVERY_100_MILLIS = new WaitLoop.Schedule() {
+        @Override
+        public long IntervalNanos(int polls) {
+            return TimeUnit.MILLISECONDS.toNanos(100);
+        }
+    };
+
+    @Test
+    public void WaitLoopChecksStraightAway(){
+        VirtualClock clock = new VirtualClock();
+        ReadyAt condition = new ReadyAt(clock, 0);
+        assertTrue(WaitLoop.Until(null, condition, clock, clock, 1000, EVERY_100_MILLIS));
+        assertEquals(1, condition.polledMillis.size());
+        assertEquals(0, clock.now());
+    }
+
+    @Test
+    public void WaitLoopCountsNotFoundAsNotReady(){
+        VirtualClock clock = new VirtualClock();
+        ReadyAt condition = new ReadyAt(clock, 250);
+        condition.throwUntilReady = true;
+        assertTrue(WaitLoop.Until(null, condition, clock, clock, 1000, EVERY_100_MILLIS));
+        assertEquals(300, clock.now());
+        assertEquals(4, condition.polledMillis.size());
+    }
+
+    @Test
+    public void WaitLoopNeverSleepsPastTheDeadline(){
+        VirtualClock clock = new VirtualClock();
+        ReadyAt condition = new ReadyAt(clock, 5000);
+        condition.throwUntilReady = true;
+        try{
+            WaitLoop.Until(null, condition, clock, clock, 250, EVERY_100_MILLIS);
+            fail("Expected a timeout");
+        } catch (TimeoutException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("tried for 250 ms, 4 polls"));
+            assertTrue(e.getCause() instanceof NoSuchElementException);
+        }
+        assertEquals(250, clock.now());
+        assertEquals(Long.valueOf(250), condition.polledMillis.get(3));
+    }
+
+    @Test
+    public void PollingPollsAtItsInterval(){
+        VirtualClock clock = new VirtualClock();
+        WaitStrategy strategy = new PollingWaitStrategy(clock, clock, 30, 500);
+        ReadyAt condition = new ReadyAt(clock, 1200);
+        assertTrue(strategy.Until(null, WaitStrategyTest.class, "field", condition));
+        assertEquals(1500, clock.now());
+        assertEquals(4, condition.polledMillis.size());
+    }
+
+    @Test
+    public void PollingTimesOutAtItsTimeout(){
+        VirtualClock clock = new VirtualClock();
+        WaitStrategy strategy = new PollingWaitStrategy(clock, clock, 2, 300);
+        try{
+            strategy.Until(null, WaitStrategyTest.class, "field", new ReadyAt(clock, 60000));
+            fail("Expected a timeout");
+        } catch (TimeoutException e) {
+            assertEquals(2000, clock.now());
+        }
+    }
+
+    @Test
+    public void AdaptiveRampsThenBacksOff(){
+        VirtualClock clock = new VirtualClock();
+        WaitStrategy strategy = new AdaptiveWaitStrategy(clock, clock, 30, 50, 3, 1000);
+        ReadyAt condition = new ReadyAt(clock, 800);
+        assertTrue(strategy.Until(null, WaitStrategyTest.class, "field", condition));
+        assertEquals("[0, 50, 100, 150, 250, 450, 850]", condition.polledMillis.toString());
+    }
+
+    @Test
+    public void AdaptiveSkipsAheadToWhatItLearned(){
+        VirtualClock clock = new VirtualClock();
+        AdaptiveWaitStrategy strategy = new AdaptiveWaitStrategy(clock, clock, 30, 50, 3, 1000);
+        strategy.Until(null, WaitStrategyTest.class, "field", new ReadyAt(clock, 800));
+        assertEquals(850, strategy.LearnedMillis(WaitStrategyTest.class, "field"));
+        long start = clock.now();
+        ReadyAt condition = new ReadyAt(clock, 800);
+        assertTrue(strategy.Until(null, WaitStrategyTest.class, "field", condition));
+        assertEquals(Long.valueOf(start + 637), condition.polledMillis.get(1));
+        assertEquals(6, condition.polledMillis.size());
+        assertEquals(0, strategy.LearnedMillis(WaitStrategyTest.class, "other"));
+    }
+
+    @Test
+    public void AdaptiveDoesNotLearnUnnamedConditions(){
+        VirtualClock clock = new VirtualClock();
+        AdaptiveWaitStrategy strategy = new AdaptiveWaitStrategy(clock, clock, 30, 50, 3, 1000);
+        strategy.Until(null, WaitStrategyTest.class, null, new ReadyAt(clock, 800));
+        ReadyAt condition = new ReadyAt(clock, 800);
+        assertTrue(strategy.Until(null, WaitStrategyTest.class, null, condition));
+        assertEquals(7, condition.polledMillis.size());
+        assertEquals(0, strategy.LearnedMillis(WaitStrategyTest.class, null));
+    }
+}
@@ -0,0 +1,176 @@
+package java.com.jenkinsja.webdriverutils.fake;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.openqa.selenium.InvalidSelectorException;
+
+/**
+ * The part of CSS selectors the fake driver understands: groups separated by commas,
+ * of compound selectors separated by descendant whitespace or child '>', each made of
+ * an optional tag or '*', then any number of #id, .class, [attribute] and
+ * [attribute=value] parts.
+ */
+final class CssSelector {
+
+    /**
+     * One compound selector, such as input.large[type=text]
+     */
+    private static final class Compound {
+        String tag;
+        final List<String[]> attributes = new ArrayList<String[]>();
+        final List<String> classes = new ArrayList<String>();
+        /**
+         * Whether it must be the parent of the next compound, rather than any ancestor
+         */
+        boolean child;
+
+        boolean Matches(FakeElement element){
+            if (tag != null && !tag.equalsIgnoreCase(element.TagName())){
+                return false;
+            }
+            for (String name : classes){
+                if (!element.HasClass(name)){
+                    return false;
+                }
+            }
+            for (String[] attribute : attributes){
+                String value = element.Attribute(attribute[0]);
+                if (value == null || attribute[1] != null && !attribute[1].equals(value)){
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private final String selector;
+    private final List<List<Compound>> groups = new ArrayList<List<Compound>>();
+
+    CssSelector(String selector){
+        this.selector = selector;
+        for (String group : selector.split(",")){
+            groups.add(ParseGroup(group.trim()));
+        }
+    }
+
+    boolean Matches(FakeElement element){
+        for (List<Compound> group : groups){
+            if (Matches(group, group.size() - 1, element)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean Matches(List<Compound> group, int index, FakeElement element){
+        if (!group.get(index).Matches(element)){
+            return false;
+        }
+        if (index == 0){
+            return true;
+        }
+        Compound previous = group.get(index - 1);
+        for (FakeElement ancestor = element.Parent(); ancestor != null; ancestor = ancestor.Parent()){
+            if (Matches(group, index - 1, ancestor)){
+                return true;
+            }
+            if (previous.child){
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private List<Compound> ParseGroup(String group){
+        if (group.isEmpty()){
+            throw Invalid();
+        }
+        List<Compound> compounds = new ArrayList<Compound>();
+        int i = 0;
+        while (i < group.length()){
+            Compound compound = new Compound();
+            i = ParseCompound(group, i, compound);
+            compounds.add(compound);
+            int next = SkipSpaces(group, i);
+            if (next < group.length() && group.charAt(next) == '>'){
+                compound.child = true;
+                next = SkipSpaces(group, next + 1);
+            }
+            if (next == i && next < group.length()){
+                throw Invalid();
+            }
+            i = next;
+        }
+        return compounds;
+    }
+
+    private int ParseCompound(String group, int start, Compound compound){
+        int i = start;
+        if (i < group.length() && (group.charAt(i) == '*' || IsNameChar(group.charAt(i)))){
+            int end = group.charAt(i) == '*' ? i + 1 : NameEnd(group, i);
+            compound.tag = group.charAt(i) == '*' ? null : group.substring(i, end);
+            i = end;
+        }
+        while (i < group.length()){
+            char c = group.charAt(i);
+            if (c == '#' || c == '.'){
+                int end = NameEnd(group, i + 1);
+                if (end == i + 1){
+                    throw Invalid();
+                }
+                String name = group.substring(i + 1, end);
+                if (c == '#'){
+                    compound.attributes.add(new String[] {"id", name});
+                } else {
+                    compound.classes.add(name);
+                }
+                i = end;
+            } else if (c == '['){
+                int close = group.indexOf(']', i);
+                if (close < 0){
+                    throw Invalid();
+                }
+                String[] parts = group.substring(i + 1, close).split("=", 2);
+                String value = parts.length > 1 ? Unquote(parts[1].trim()) : null;
+                compound.attributes.add(new String[] {parts[0].trim(), value});
+                i = close + 1;
+            } else {
+                break;
+            }
+        }
+        if (i == start){
+            throw Invalid();
+        }
+        return i;
+    }
+
+    private static String Unquote(String value){
+        if (value.length() >= 2 && (value.charAt(0) == '"' || value.charAt(0) == '\'')
+                && value.charAt(value.length() - 1) == value.charAt(0)){
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    private static int SkipSpaces(String text, int i){
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))){
+            i++;
+        }
+        return i;
+    }
+
+    private static int NameEnd(String text, int i){
+        while (i < text.length() && IsNameChar(text.charAt(i))){
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean IsNameChar(char c){
+        return Character.isLetterOrDigit(c) || c == '-' || c == '_';
+    }
+
+    private InvalidSelectorException Invalid(){
+        return new InvalidSelectorException("The fake driver cannot parse the css selector: " + selector);
+    }
+}
@@ -0,0 +1,644 @@
+package java.com.jenkinsja.webdriverutils.fake;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.ElementNotVisibleException;
+import org.openqa.selenium.InvalidElementStateException;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.FindsByClassName;
+import org.openqa.selenium.internal.FindsByCssSelector;
+import org.openqa.selenium.internal.FindsById;
+import org.openqa.selenium.internal.FindsByLinkText;
+import org.openqa.selenium.internal.FindsByName;
+import org.openqa.selenium.internal.FindsByTagName;
+import org.openqa.selenium.internal.FindsByXPath;
+
+/**
+ * An element of a FakeWebDriver's in-memory document, both the node of the model and
+ * the WebElement handed out for it.
+ * The capitalized methods build and change the model, and cost nothing. The WebElement
+ * methods are commands: they take the driver's latency, and fail as a browser would,
+ * with a StaleElementReferenceException once the element has left the document.
+ * An element can be made to turn displayed, enabled or uncovered only after a delay,
+ * measured on the driver's clock.
+ */
+public class FakeElement implements WebElement, FindsById, FindsByName, FindsByClassName,
+        FindsByTagName, FindsByCssSelector, FindsByLinkText, FindsByXPath {
+
+    /**
+     * Something matching elements, for finds
+     */
+    interface Matcher {
+        boolean Matches(FakeElement element);
+    }
+
+    private final FakeWebDriver driver;
+    private final String tag;
+    private final Map<String, String> attributes = new LinkedHashMap<String, String>();
+    private final List<FakeElement> children = new ArrayList<FakeElement>();
+    private final List<Runnable> clickHandlers = new ArrayList<Runnable>();
+    private FakeElement parent;
+    private String text = "";
+    private String value = "";
+    private boolean displayed = true;
+    private long displayedAtMillis = Long.MIN_VALUE;
+    private boolean enabled = true;
+    private long enabledAtMillis = Long.MIN_VALUE;
+    private long uncoveredAtMillis = Long.MIN_VALUE;
+    private boolean selected;
+    private int clicks;
+
+    FakeElement(FakeWebDriver driver, String tag){
+        this.driver = driver;
+        this.tag = tag.toLowerCase();
+    }
+
+    //Model
+    /**
+     * Add a child element with the tag, and answer it
+     */
+    public FakeElement Append(String tag){
+        FakeElement child = new FakeElement(driver, tag);
+        child.parent = this;
+        children.add(child);
+        return child;
+    }
+
+    public FakeElement SetId(String id){
+        return SetAttribute("id", id);
+    }
+
+    /**
+     * Set an attribute, or remove it with null. The value attribute sets the current value.
+     */
+    public FakeElement SetAttribute(String name, String value){
+        if ("value".equals(name)){
+            this.value = value == null ? "" : value;
+        }
+        if (value == null){
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+        return this;
+    }
+
+    /**
+     * Set the element's own text, shown before the text of its children
+     */
+    public FakeElement SetText(String text){
+        this.text = text;
+        return this;
+    }
+
+    public FakeElement SetDisplayed(boolean displayed){
+        this.displayed = displayed;
+        this.displayedAtMillis = Long.MIN_VALUE;
+        return this;
+    }
+
+    /**
+     * Turn the element displayed once the delay has passed on the driver's clock
+     */
+    public FakeElement DisplayedAfter(long delay, TimeUnit unit){
+        this.displayed = true;
+        this.displayedAtMillis = driver.NowMillis() + unit.toMillis(delay);
+        return this;
+    }
+
+    public FakeElement SetEnabled(boolean enabled){
+        this.enabled = enabled;
+        this.enabledAtMillis = Long.MIN_VALUE;
+        return this;
+    }
+
+    /**
+     * Turn the element enabled once the delay has passed on the driver's clock
+     */
+    public FakeElement EnabledAfter(long delay, TimeUnit unit){
+        this.enabled = true;
+        this.enabledAtMillis = driver.NowMillis() + unit.toMillis(delay);
+        return this;
+    }
+
+    /**
+     * Have another element cover this one until the delay has passed, so clicks on it are intercepted
+     */
+    public FakeElement CoveredFor(long delay, TimeUnit unit){
+        this.uncoveredAtMillis = driver.NowMillis() + unit.toMillis(delay);
+        return this;
+    }
+
+    /**
+     * Run the handler whenever the element is clicked, to change the document for instance
+     */
+    public FakeElement OnClick(Runnable handler){
+        clickHandlers.add(handler);
+        return this;
+    }
+
+    /**
+     * Take the element out of the document; handles to it go stale
+     */
+    public void Remove(){
+        if (parent != null){
+            parent.children.remove(this);
+            parent = null;
+        }
+    }
+
+    /**
+     * Replace the element with a copy of it, as a page re-rendering it would.
+     * Handles to the element go stale, and finding it again answers the copy.
+     */
+    public FakeElement Rerender(){
+        FakeElement copy = Copy(parent);
+        if (parent != null){
+            parent.children.set(parent.children.indexOf(this), copy);
+            parent = null;
+        }
+        return copy;
+    }
+
+    private FakeElement Copy(FakeElement newParent){
+        FakeElement copy = new FakeElement(driver, tag);
+        copy.parent = newParent;
+        copy.attributes.putAll(attributes);
+        copy.clickHandlers.addAll(clickHandlers);
+        copy.text = text;
+        copy.value = value;
+        copy.displayed = displayed;
+        copy.displayedAtMillis = displayedAtMillis;
+        copy.enabled = enabled;
+        copy.enabledAtMillis = enabledAtMillis;
+        copy.uncoveredAtMillis = uncoveredAtMillis;
+        copy.selected = selected;
+        for (FakeElement child : children){
+            copy.children.add(child.Copy(copy));
+        }
+        return copy;
+    }
+
+    public FakeElement Parent(){
+        return parent;
+    }
+
+    public List<FakeElement> Children(){
+        return Collections.unmodifiableList(children);
+    }
+
+    public String TagName(){
+        return tag;
+    }
+
+    /**
+     * The attribute as set, or for value the current value; null when not set
+     */
+    public String Attribute(String name){
+        return "value".equals(name) ? (IsField() || attributes.containsKey("value") ? value : null) : attributes.get(name);
+    }
+
+    /**
+     * The text typed or set into the field
+     */
+    public String Value(){
+        return value;
+    }
+
+    /**
+     * How many times the element was clicked while displayed and enabled
+     */
+    public int Clicks(){
+        return clicks;
+    }
+
+    /**
+     * Whether the element is still in its driver's document
+     */
+    public boolean IsAttached(){
+        FakeElement root = this;
+        while (root.parent != null){
+            root = root.parent;
+        }
+        return root == driver.DocumentElement();
+    }
+
+    /**
+     * Whether the element, and every element it is in, is displayed by now
+     */
+    public boolean IsDisplayedNow(){
+        if (!IsAttached() || "input".equals(tag) && "hidden".equalsIgnoreCase(attributes.get("type"))){
+            return false;
+        }
+        long now = driver.NowMillis();
+        for (FakeElement element = this; element != null; element = element.parent){
+            if (!element.displayed || now < element.displayedAtMillis){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean IsEnabledNow(){
+        return enabled && driver.NowMillis() >= enabledAtMillis;
+    }
+
+    boolean HasClass(String name){
+        String classes = attributes.get("class");
+        if (classes == null){
+            return false;
+        }
+        for (String part : classes.trim().split("\\s+")){
+            if (part.equals(name)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean IsField(){
+        return "input".equals(tag) || "textarea".equals(tag) || "select".equals(tag) || "option".equals(tag);
+    }
+
+    private boolean IsToggle(){
+        String type = attributes.get("type");
+        return "input".equals(tag) && ("checkbox".equalsIgnoreCase(type) || "radio".equalsIgnoreCase(type));
+    }
+
+    /**
+     * The element's own text and its displayed children's, space separated
+     */
+    String VisibleText(){
+        StringBuilder visible = new StringBuilder(text);
+        for (FakeElement child : children){
+            if (child.IsDisplayedNow()){
+                String childText = child.VisibleText();
+                if (!childText.isEmpty()){
+                    visible.append(visible.length() > 0 ? " " : "").append(childText);
+                }
+            }
+        }
+        return visible.toString().trim();
+    }
+
+    void AppendSource(StringBuilder source){
+        source.append('<').append(tag);
+        for (Map.Entry<String, String> attribute : attributes.entrySet()){
+            source.append(' ').append(attribute.getKey()).append("=\"")
+                    .append(attribute.getValue().replace("\"", "&quot;")).append('"');
+        }
+        source.append('>').append(text);
+        for (FakeElement child : children){
+            child.AppendSource(source);
+        }
+        source.append("</").append(tag).append('>');
+    }
+
+    /**
+     * The elements under this one matching, in document order
+     */
+    List<FakeElement> Descendants(Matcher matcher, boolean first){
+        List<FakeElement> found = new ArrayList<FakeElement>();
+        CollectDescendants(matcher, first, found);
+        return found;
+    }
+
+    private boolean CollectDescendants(Matcher matcher, boolean first, List<FakeElement> found){
+        for (FakeElement child : children){
+            if (matcher.Matches(child)){
+                found.add(child);
+                if (first){
+                    return true;
+                }
+            }
+            if (child.CollectDescendants(matcher, first, found) && first){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //Commands
+    @Override
+    public void click() {
+        driver.ElementCommand("click", this);
+        if (!IsDisplayedNow()){
+            throw new ElementNotVisibleException("Element is not displayed: " + this);
+        }
+        if (driver.NowMillis() < uncoveredAtMillis){
+            throw new WebDriverException("Element is not clickable at point (10, 10). Other element would receive the click: " + this);
+        }
+        if (!IsEnabledNow()){
+            //Browsers click disabled elements without anything happening
+            return;
+        }
+        clicks++;
+        if (IsToggle()){
+            selected = "radio".equalsIgnoreCase(attributes.get("type")) || !selected;
+        } else if ("option".equals(tag)){
+            selected = true;
+        }
+        driver.Focus(this);
+        for (Runnable handler : new ArrayList<Runnable>(clickHandlers)){
+            handler.run();
+        }
+    }
+
+    @Override
+    public void submit() {
+        driver.ElementCommand("submit", this);
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        driver.ElementCommand("sendKeys", this);
+        if (!IsDisplayedNow() || !IsEnabledNow()){
+            throw new ElementNotInteractableException("Element is not interactable: " + this);
+        }
+        StringBuilder typed = new StringBuilder(value);
+        for (CharSequence keys : keysToSend){
+            for (int i = 0; i < keys.length(); i++){
+                char c = keys.charAt(i);
+                if (c == '\uE003'){
+                    //Backspace
+                    if (typed.length() > 0){
+                        typed.setLength(typed.length() - 1);
+                    }
+                } else if (c < '\uE000' || c > '\uE0FF'){
+                    typed.append(c);
+                }
+            }
+        }
+        value = typed.toString();
+        driver.Focus(this);
+    }
+
+    @Override
+    public void clear() {
+        driver.ElementCommand("clear", this);
+        if (!IsEnabledNow()){
+            throw new InvalidElementStateException("Element is disabled: " + this);
+        }
+        value = "";
+    }
+
+    @Override
+    public String getTagName() {
+        driver.ElementCommand("getTagName", this);
+        return tag;
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        driver.ElementCommand("getAttribute", this);
+        if ("disabled".equals(name)){
+            return IsEnabledNow() ? null : "true";
+        }
+        if ("checked".equals(name) || "selected".equals(name)){
+            return selected ? "true" : null;
+        }
+        return Attribute(name);
+    }
+
+    @Override
+    public boolean isSelected() {
+        driver.ElementCommand("isSelected", this);
+        return selected;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        driver.ElementCommand("isEnabled", this);
+        return IsEnabledNow();
+    }
+
+    @Override
+    public String getText() {
+        driver.ElementCommand("getText", this);
+        return IsDisplayedNow() ? VisibleText() : "";
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        driver.ElementCommand("isDisplayed", this);
+        return IsDisplayedNow();
+    }
+
+    @Override
+    public Point getLocation() {
+        driver.ElementCommand("getLocation", this);
+        return new Point(0, 0);
+    }
+
+    @Override
+    public Dimension getSize() {
+        driver.ElementCommand("getSize", this);
+        return IsDisplayedNow() ? new Dimension(100, 20) : new Dimension(0, 0);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        driver.ElementCommand("getRect", this);
+        return IsDisplayedNow() ? new Rectangle(0, 0, 20, 100) : new Rectangle(0, 0, 0, 0);
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        driver.ElementCommand("getCssValue", this);
+        if ("display".equals(propertyName)){
+            return IsDisplayedNow() ? "block" : "none";
+        }
+        if ("visibility".equals(propertyName)){
+            return IsDisplayedNow() ? "visible" : "hidden";
+        }
+        return "";
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        driver.ElementCommand("getScreenshotAs", this);
+        throw new UnsupportedCommandException("The fake driver cannot take screenshots");
+    }
+
+    //Finds
+    @Override
+    public WebElement findElement(By by) {
+        return by.findElement(this);
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return by.findElements(this);
+    }
+
+    /**
+     * One find command for the matcher, under this element
+     */
+    WebElement FindFirst(String command, Matcher matcher, String description){
+        driver.ElementCommand(command, this);
+        return driver.FindFirst(this, matcher, description);
+    }
+
+    List<WebElement> FindAll(String command, Matcher matcher){
+        driver.ElementCommand(command, this);
+        return driver.FindAll(this, matcher);
+    }
+
+    @Override
+    public WebElement findElementById(String using) {
+        return FindFirst("findElement", Matchers.Attribute("id", using), "#" + using);
+    }
+
+    @Override
+    public List<WebElement> findElementsById(String using) {
+        return FindAll("findElements", Matchers.Attribute("id", using));
+    }
+
+    @Override
+    public WebElement findElementByName(String using) {
+        return FindFirst("findElement", Matchers.Attribute("name", using), "[name=" + using + "]");
+    }
+
+    @Override
+    public List<WebElement> findElementsByName(String using) {
+        return FindAll("findElements", Matchers.Attribute("name", using));
+    }
+
+    @Override
+    public WebElement findElementByClassName(String using) {
+        return FindFirst("findElement", Matchers.ClassName(using), "." + using);
+    }
+
+    @Override
+    public List<WebElement> findElementsByClassName(String using) {
+        return FindAll("findElements", Matchers.ClassName(using));
+    }
+
+    @Override
+    public WebElement findElementByTagName(String using) {
+        return FindFirst("findElement", Matchers.TagName(using), using);
+    }
+
+    @Override
+    public List<WebElement> findElementsByTagName(String using) {
+        return FindAll("findElements", Matchers.TagName(using));
+    }
+
+    @Override
+    public WebElement findElementByCssSelector(String using) {
+        return FindFirst("findElement", Matchers.Css(using), using);
+    }
+
+    @Override
+    public List<WebElement> findElementsByCssSelector(String using) {
+        return FindAll("findElements", Matchers.Css(using));
+    }
+
+    @Override
+    public WebElement findElementByLinkText(String using) {
+        return FindFirst("findElement", Matchers.LinkText(using, false), "link " + using);
+    }
+
+    @Override
+    public List<WebElement> findElementsByLinkText(String using) {
+        return FindAll("findElements", Matchers.LinkText(using, false));
+    }
+
+    @Override
+    public WebElement findElementByPartialLinkText(String using) {
+        return FindFirst("findElement", Matchers.LinkText(using, true), "partial link " + using);
+    }
+
+    @Override
+    public List<WebElement> findElementsByPartialLinkText(String using) {
+        return FindAll("findElements", Matchers.LinkText(using, true));
+    }
+
+    @Override
+    public WebElement findElementByXPath(String using) {
+        throw new InvalidSelectorException("The fake driver does not support XPath: " + using);
+    }
+
+    @Override
+    public List<WebElement> findElementsByXPath(String using) {
+        throw new InvalidSelectorException("The fake driver does not support XPath: " + using);
+    }
+
+    @Override
+    public String toString() {
+        String id = attributes.get("id");
+        return "<" + tag + (id != null ? " id=\"" + id + "\"" : "") + ">";
+    }
+
+    /**
+     * The matchers of the locators the fake driver supports
+     */
+    static final class Matchers {
+
+        private Matchers(){
+        }
+
+        static Matcher Attribute(final String name, final String value){
+            return new Matcher() {
+                @Override
+                public boolean Matches(FakeElement element) {
+                    return value.equals(element.attributes.get(name));
+                }
+            };
+        }
+
+        static Matcher ClassName(final String name){
+            return new Matcher() {
+                @Override
+                public boolean Matches(FakeElement element) {
+                    return element.HasClass(name);
+                }
+            };
+        }
+
+        static Matcher TagName(final String tag){
+            return new Matcher() {
+                @Override
+                public boolean Matches(FakeElement element) {
+                    return element.tag.equalsIgnoreCase(tag);
+                }
+            };
+        }
+
+        static Matcher Css(String selector){
+            final CssSelector css = new CssSelector(selector);
+            return new Matcher() {
+                @Override
+                public boolean Matches(FakeElement element) {
+                    return css.Matches(element);
+                }
+            };
+        }
+
+        static Matcher LinkText(final String text, final boolean partial){
+            return new Matcher() {
+                @Override
+                public boolean Matches(FakeElement element) {
+                    if (!"a".equals(element.tag) || !element.IsDisplayedNow()){
+                        return false;
+                    }
+                    String visible = element.VisibleText();
+                    return partial ? visible.contains(text) : visible.equals(text);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package java.com.jenkinsja.webdriverutils.fake;
+
+/**
+ * Builds the document of a page a FakeWebDriver can navigate to, afresh each time it
+ * is loaded or refreshed
+ */
+public interface FakePage {
+
+    /**
+     * Fill in the empty html element, typically with Append("head") and Append("body")
+     */
+    void Render(FakeElement html);
+}
@@ -0,0 +1,713 @@
+package java.com.jenkinsja.webdriverutils.fake;
+
+import java.com.jenkinsja.webdriverutils.fake.FakeElement.Matcher;
+import java.com.jenkinsja.webdriverutils.fake.FakeElement.Matchers;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchFrameException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.FindsByClassName;
+import org.openqa.selenium.internal.FindsByCssSelector;
+import org.openqa.selenium.internal.FindsById;
+import org.openqa.selenium.internal.FindsByLinkText;
+import org.openqa.selenium.internal.FindsByName;
+import org.openqa.selenium.internal.FindsByTagName;
+import org.openqa.selenium.internal.FindsByXPath;
+import org.openqa.selenium.internal.WrapsElement;
+import org.openqa.selenium.logging.Logs;
+import org.openqa.selenium.support.ui.Clock;
+import org.openqa.selenium.support.ui.Duration;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.SystemClock;
+
+/**
+ * A WebDriver over an in-memory document, to run page objects and their waits without
+ * a browser. Every command sleeps a latency drawn from a LatencyModel on the driver's
+ * Sleeper, and elements can turn displayed or enabled after a delay on its Clock, so
+ * a VirtualClock runs whole wait suites in virtual time. With a stale probability,
+ * element commands re-render the element first now and then, failing with a
+ * StaleElementReferenceException as a busy page would.
+ * It runs only the scripts registered with OnScript, matched by their exact text;
+ * every other script fails with an UnsupportedCommandException, as on a driver
+ * without scripting, so page objects take their one-command-per-element fallbacks.
+ * FakeScripts registers the library's own scripts.
+ * Not thread safe; the random draws are repeatable for a given seed.
+ */
+public class FakeWebDriver implements WebDriver, JavascriptExecutor, FindsById, FindsByName,
+        FindsByClassName, FindsByTagName, FindsByCssSelector, FindsByLinkText, FindsByXPath {
+
+    private static final String WINDOW = "fake-window";
+
+    /**
+     * Stands in for a script the fake driver is asked to run
+     */
+    public interface Script {
+        /**
+         * Answer as the script would, given its arguments with elements unwrapped to FakeElements
+         */
+        Object Run(FakeWebDriver driver, Object... args);
+    }
+
+    /**
+     * How often a find polls while the implicit wait lasts
+     */
+    private static final long IMPLICIT_POLL_MILLIS = 50;
+
+    private final Clock clock;
+    private final Sleeper sleeper;
+    private final Random random;
+    private final Map<String, FakePage> pages = new HashMap<String, FakePage>();
+    private final Map<String, Long> commands = new TreeMap<String, Long>();
+    private final Map<String, Cookie> cookies = new LinkedHashMap<String, Cookie>();
+    private final Map<String, Script> scripts = new HashMap<String, Script>();
+    private final List<String> history = new ArrayList<String>();
+    private LatencyModel latency;
+    private double staleProbability;
+    private long implicitWaitMillis;
+    private int historyIndex = -1;
+    private FakeElement document;
+    private FakeElement focused;
+    private String url = "about:blank";
+    private Dimension windowSize = new Dimension(1280, 1024);
+    private Point windowPosition = new Point(0, 0);
+    private boolean quit;
+
+    /**
+     * A driver on the system clock, answering at once
+     */
+    public FakeWebDriver(){
+        this(new SystemClock(), Sleeper.SYSTEM_SLEEPER, LatencyModels.None(), 0);
+    }
+
+    public FakeWebDriver(Clock clock, Sleeper sleeper, LatencyModel latency, long seed){
+        this.clock = clock;
+        this.sleeper = sleeper;
+        this.latency = latency;
+        this.random = new Random(seed);
+        this.document = Blank();
+    }
+
+    public FakeWebDriver SetLatency(LatencyModel latency){
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * The chance, from 0 to 1, that an element command finds the element re-rendered
+     */
+    public FakeWebDriver SetStaleProbability(double staleProbability){
+        this.staleProbability = staleProbability;
+        return this;
+    }
+
+    /**
+     * Serve the page at the url
+     */
+    public FakeWebDriver AddPage(String url, FakePage page){
+        pages.put(url, page);
+        return this;
+    }
+
+    /**
+     * The html element of the current document, to build or change it
+     */
+    public FakeElement Document(){
+        return document;
+    }
+
+    /**
+     * The body element of the current document, added if missing
+     */
+    public FakeElement Body(){
+        for (FakeElement child : document.Children()){
+            if ("body".equals(child.TagName())){
+                return child;
+            }
+        }
+        return document.Append("body");
+    }
+
+    /**
+     * How many times each command was sent, by name
+     */
+    public Map<String, Long> Commands(){
+        return Collections.unmodifiableMap(commands);
+    }
+
+    public long CommandCount(String command){
+        Long count = commands.get(command);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Every command sent, whatever its name
+     */
+    public long CommandCount(){
+        long total = 0;
+        for (long count : commands.values()){
+            total += count;
+        }
+        return total;
+    }
+
+    public void ResetCommands(){
+        commands.clear();
+    }
+
+    long NowMillis(){
+        return clock.now();
+    }
+
+    FakeElement DocumentElement(){
+        return document;
+    }
+
+    void Focus(FakeElement element){
+        focused = element;
+    }
+
+    /**
+     * Count the command and wait out its latency
+     */
+    void Command(String name){
+        if (quit){
+            throw new NoSuchSessionException("The session was quit");
+        }
+        Long count = commands.get(name);
+        commands.put(name, count != null ? count + 1 : 1);
+        long nanos = latency.SampleNanos(name, random);
+        if (nanos > 0){
+            Sleep(nanos);
+        }
+    }
+
+    /**
+     * A command on the element, which may re-render it first, and fails once it is stale
+     */
+    void ElementCommand(String name, FakeElement element){
+        Command(name);
+        if (staleProbability > 0 && element.Parent() != null && random.nextDouble() < staleProbability){
+            element.Rerender();
+        }
+        if (!element.IsAttached()){
+            throw new StaleElementReferenceException("The element is no longer attached to the DOM: " + element);
+        }
+    }
+
+    private void Sleep(long nanos){
+        try{
+            sleeper.sleep(new Duration(nanos, TimeUnit.NANOSECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException(e);
+        }
+    }
+
+    /**
+     * The first element under the root matching, polling while the implicit wait lasts
+     */
+    WebElement FindFirst(FakeElement root, Matcher matcher, String description){
+        long end = clock.laterBy(implicitWaitMillis);
+        while (true){
+            List<FakeElement> found = root.Descendants(matcher, true);
+            if (!found.isEmpty()){
+                return found.get(0);
+            }
+            if (!clock.isNowBefore(end)){
+                throw new NoSuchElementException("Unable to locate element: " + description);
+            }
+            Sleep(TimeUnit.MILLISECONDS.toNanos(IMPLICIT_POLL_MILLIS));
+        }
+    }
+
+    /**
+     * The elements under the root matching, polling while the implicit wait lasts and there are none
+     */
+    List<WebElement> FindAll(FakeElement root, Matcher matcher){
+        long end = clock.laterBy(implicitWaitMillis);
+        while (true){
+            List<FakeElement> found = root.Descendants(matcher, false);
+            if (!found.isEmpty() || !clock.isNowBefore(end)){
+                return new ArrayList<WebElement>(found);
+            }
+            Sleep(TimeUnit.MILLISECONDS.toNanos(IMPLICIT_POLL_MILLIS));
+        }
+    }
+
+    private WebElement Find(Matcher matcher, String description){
+        Command("findElement");
+        return FindFirst(document, matcher, description);
+    }
+
+    private List<WebElement> FindEvery(Matcher matcher){
+        Command("findElements");
+        return FindAll(document, matcher);
+    }
+
+    private FakeElement Blank(){
+        FakeElement html = new FakeElement(this, "html");
+        html.Append("head");
+        html.Append("body");
+        return html;
+    }
+
+    private void Load(String url){
+        this.url = url;
+        this.focused = null;
+        FakePage page = pages.get(url);
+        if (page == null){
+            document = Blank();
+            return;
+        }
+        document = new FakeElement(this, "html");
+        page.Render(document);
+    }
+
+    //WebDriver
+    @Override
+    public void get(String url) {
+        Command("get");
+        while (history.size() > historyIndex + 1){
+            history.remove(history.size() - 1);
+        }
+        history.add(url);
+        historyIndex++;
+        Load(url);
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        Command("getCurrentUrl");
+        return url;
+    }
+
+    @Override
+    public String getTitle() {
+        Command("getTitle");
+        List<FakeElement> titles = document.Descendants(Matchers.TagName("title"), true);
+        return titles.isEmpty() ? "" : titles.get(0).VisibleText();
+    }
+
+    @Override
+    public String getPageSource() {
+        Command("getPageSource");
+        StringBuilder source = new StringBuilder();
+        document.AppendSource(source);
+        return source.toString();
+    }
+
+    @Override
+    public void close() {
+        Command("close");
+        quit = true;
+    }
+
+    @Override
+    public void quit() {
+        if (!quit){
+            Command("quit");
+            quit = true;
+        }
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        Command("getWindowHandles");
+        return Collections.singleton(WINDOW);
+    }
+
+    @Override
+    public String getWindowHandle() {
+        Command("getWindowHandle");
+        return WINDOW;
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        return new TargetLocator() {
+            @Override
+            public WebDriver frame(int index) {
+                Command("switchToFrame");
+                throw new NoSuchFrameException("The fake driver has no frames");
+            }
+
+            @Override
+            public WebDriver frame(String nameOrId) {
+                Command("switchToFrame");
+                throw new NoSuchFrameException("The fake driver has no frames");
+            }
+
+            @Override
+            public WebDriver frame(WebElement frameElement) {
+                Command("switchToFrame");
+                throw new NoSuchFrameException("The fake driver has no frames");
+            }
+
+            @Override
+            public WebDriver parentFrame() {
+                Command("switchToParentFrame");
+                return FakeWebDriver.this;
+            }
+
+            @Override
+            public WebDriver window(String nameOrHandle) {
+                Command("switchToWindow");
+                if (!WINDOW.equals(nameOrHandle)){
+                    throw new NoSuchWindowException("No window " + nameOrHandle);
+                }
+                return FakeWebDriver.this;
+            }
+
+            @Override
+            public WebDriver defaultContent() {
+                Command("switchToFrame");
+                return FakeWebDriver.this;
+            }
+
+            @Override
+            public WebElement activeElement() {
+                Command("getActiveElement");
+                return focused != null && focused.IsAttached() ? focused : Body();
+            }
+
+            @Override
+            public Alert alert() {
+                Command("getAlertText");
+                throw new NoAlertPresentException("The fake driver has no alerts");
+            }
+        };
+    }
+
+    @Override
+    public Navigation navigate() {
+        return new Navigation() {
+            @Override
+            public void back() {
+                Command("goBack");
+                if (historyIndex > 0){
+                    Load(history.get(--historyIndex));
+                }
+            }
+
+            @Override
+            public void forward() {
+                Command("goForward");
+                if (historyIndex < history.size() - 1){
+                    Load(history.get(++historyIndex));
+                }
+            }
+
+            @Override
+            public void to(String url) {
+                get(url);
+            }
+
+            @Override
+            public void to(URL url) {
+                get(url.toString());
+            }
+
+            @Override
+            public void refresh() {
+                Command("refresh");
+                Load(url);
+            }
+        };
+    }
+
+    @Override
+    public Options manage() {
+        return new Options() {
+            @Override
+            public void addCookie(Cookie cookie) {
+                Command("addCookie");
+                cookies.put(cookie.getName(), cookie);
+            }
+
+            @Override
+            public void deleteCookieNamed(String name) {
+                Command("deleteCookie");
+                cookies.remove(name);
+            }
+
+            @Override
+            public void deleteCookie(Cookie cookie) {
+                deleteCookieNamed(cookie.getName());
+            }
+
+            @Override
+            public void deleteAllCookies() {
+                Command("deleteAllCookies");
+                cookies.clear();
+            }
+
+            @Override
+            public Set<Cookie> getCookies() {
+                Command("getCookies");
+                return new LinkedHashSet<Cookie>(cookies.values());
+            }
+
+            @Override
+            public Cookie getCookieNamed(String name) {
+                Command("getCookie");
+                return cookies.get(name);
+            }
+
+            @Override
+            public Timeouts timeouts() {
+                return new Timeouts() {
+                    @Override
+                    public Timeouts implicitlyWait(long time, TimeUnit unit) {
+                        Command("setTimeout");
+                        implicitWaitMillis = unit.toMillis(time);
+                        return this;
+                    }
+
+                    @Override
+                    public Timeouts setScriptTimeout(long time, TimeUnit unit) {
+                        Command("setTimeout");
+                        return this;
+                    }
+
+                    @Override
+                    public Timeouts pageLoadTimeout(long time, TimeUnit unit) {
+                        Command("setTimeout");
+                        return this;
+                    }
+                };
+            }
+
+            @Override
+            public ImeHandler ime() {
+                throw new UnsupportedCommandException("The fake driver has no input method editor");
+            }
+
+            @Override
+            public Window window() {
+                return new Window() {
+                    @Override
+                    public void setSize(Dimension targetSize) {
+                        Command("setWindowSize");
+                        windowSize = targetSize;
+                    }
+
+                    @Override
+                    public void setPosition(Point targetPosition) {
+                        Command("setWindowPosition");
+                        windowPosition = targetPosition;
+                    }
+
+                    @Override
+                    public Dimension getSize() {
+                        Command("getWindowSize");
+                        return windowSize;
+                    }
+
+                    @Override
+                    public Point getPosition() {
+                        Command("getWindowPosition");
+                        return windowPosition;
+                    }
+
+                    @Override
+                    public void maximize() {
+                        Command("maximizeWindow");
+                    }
+
+                    @Override
+                    public void fullscreen() {
+                        Command("fullscreen");
+                    }
+                };
+            }
+
+            @Override
+            public Logs logs() {
+                throw new UnsupportedCommandException("The fake driver keeps no logs");
+            }
+        };
+    }
+
+    //Scripts
+    /**
+     * Run the stand-in whenever exactly this script is executed
+     */
+    public FakeWebDriver OnScript(String script, Script standIn){
+        scripts.put(script, standIn);
+        return this;
+    }
+
+    /**
+     * The states of the elements as the library's batch read answers them:
+     * '0' plus the DISPLAYED (1) and ENABLED (2) bits of each element
+     */
+    public String States(List<?> elements){
+        StringBuilder states = new StringBuilder();
+        for (Object item : elements){
+            FakeElement element = Element(item);
+            if (!element.IsAttached()){
+                throw new StaleElementReferenceException("The element is no longer attached to the DOM: " + element);
+            }
+            states.append((char)('0' + (element.IsDisplayedNow() ? 1 : 0) + (element.IsEnabledNow() ? 2 : 0)));
+        }
+        return states.toString();
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        Command("executeScript");
+        Script standIn = scripts.get(script);
+        if (standIn == null){
+            throw new UnsupportedCommandException("The fake driver has no stand-in for this script");
+        }
+        return standIn.Run(this, Unwrapped(args));
+    }
+
+    private static Object[] Unwrapped(Object[] args){
+        Object[] unwrapped = new Object[args.length];
+        for (int i = 0; i < args.length; i++){
+            if (args[i] instanceof List){
+                List<Object> items = new ArrayList<Object>();
+                for (Object item : (List<?>)args[i]){
+                    items.add(item instanceof WebElement ? Element(item) : item);
+                }
+                unwrapped[i] = items;
+            } else {
+                unwrapped[i] = args[i] instanceof WebElement ? Element(args[i]) : args[i];
+            }
+        }
+        return unwrapped;
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        Command("executeAsyncScript");
+        throw new UnsupportedCommandException("The fake driver does not run scripts");
+    }
+
+    private static FakeElement Element(Object item){
+        while (item instanceof WrapsElement && !(item instanceof FakeElement)){
+            item = ((WrapsElement)item).getWrappedElement();
+        }
+        if (!(item instanceof FakeElement)){
+            throw new WebDriverException("Not an element of the fake driver: " + item);
+        }
+        return (FakeElement)item;
+    }
+
+    //Finds
+    @Override
+    public WebElement findElement(By by) {
+        return by.findElement(this);
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return by.findElements(this);
+    }
+
+    @Override
+    public WebElement findElementById(String using) {
+        return Find(Matchers.Attribute("id", using), "#" + using);
+    }
+
+    @Override
+    public List<WebElement> findElementsById(String using) {
+        return FindEvery(Matchers.Attribute("id", using));
+    }
+
+    @Override
+    public WebElement findElementByName(String using) {
+        return Find(Matchers.Attribute("name", using), "[name=" + using + "]");
+    }
+
+    @Override
+    public List<WebElement> findElementsByName(String using) {
+        return FindEvery(Matchers.Attribute("name", using));
+    }
+
+    @Override
+    public WebElement findElementByClassName(String using) {
+        return Find(Matchers.ClassName(using), "." + using);
+    }
+
+    @Override
+    public List<WebElement> findElementsByClassName(String using) {
+        return FindEvery(Matchers.ClassName(using));
+    }
+
+    @Override
+    public WebElement findElementByTagName(String using) {
+        return Find(Matchers.TagName(using), using);
+    }
+
+    @Override
+    public List<WebElement> findElementsByTagName(String using) {
+        return FindEvery(Matchers.TagName(using));
+    }
+
+    @Override
+    public WebElement findElementByCssSelector(String using) {
+        return Find(Matchers.Css(using), using);
+    }
+
+    @Override
+    public List<WebElement> findElementsByCssSelector(String using) {
+        return FindEvery(Matchers.Css(using));
+    }
+
+    @Override
+    public WebElement findElementByLinkText(String using) {
+        return Find(Matchers.LinkText(using, false), "link " + using);
+    }
+
+    @Override
+    public List<WebElement> findElementsByLinkText(String using) {
+        return FindEvery(Matchers.LinkText(using, false));
+    }
+
+    @Override
+    public WebElement findElementByPartialLinkText(String using) {
+        return Find(Matchers.LinkText(using, true), "partial link " + using);
+    }
+
+    @Override
+    public List<WebElement> findElementsByPartialLinkText(String using) {
+        return FindEvery(Matchers.LinkText(using, true));
+    }
+
+    @Override
+    public WebElement findElementByXPath(String using) {
+        throw new InvalidSelectorException("The fake driver does not support XPath: " + using);
+    }
+
+    @Override
+    public List<WebElement> findElementsByXPath(String using) {
+        throw new InvalidSelectorException("The fake driver does not support XPath: " + using);
+    }
+}
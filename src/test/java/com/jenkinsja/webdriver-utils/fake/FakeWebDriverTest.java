@@ -0,0 +1,79 @@
+package java.com.jenkinsja.webdriverutils.fake;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.com.jenkinsja.webdriverutils.VirtualClock;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebElement;
+
+public class FakeWebDriverTest {
+
+    @Test
+    public void ScriptsWithoutAStandInAreUnsupported(){
+        FakeWebDriver driver = new FakeWebDriver();
+        try{
+            driver.executeScript("return 1;");
+            fail("ran a script with no stand-in");
+        } catch (UnsupportedCommandException e) {
+            assertEquals(1, driver.CommandCount("executeScript"));
+        }
+    }
+
+    @Test
+    public void StandInsGetTheirElementsUnwrapped(){
+        FakeWebDriver driver = new FakeWebDriver();
+        final FakeElement input = driver.Body().Append("input").SetId("q");
+        driver.OnScript("return arguments[0];", new FakeWebDriver.Script() {
+            @Override
+            public Object Run(FakeWebDriver driver, Object... args) {
+                return ((List<?>)args[0]).get(0);
+            }
+        });
+        Object answer = driver.executeScript("return arguments[0];", Arrays.asList(driver.findElement(By.id("q"))));
+        assertSame(input, answer);
+    }
+
+    @Test
+    public void StatesCarryTheDisplayedAndEnabledBits(){
+        FakeWebDriver driver = new FakeWebDriver();
+        driver.Body().Append("div").SetId("ready");
+        driver.Body().Append("div").SetId("hidden").SetDisplayed(false);
+        driver.Body().Append("button").SetId("disabled").SetEnabled(false);
+        List<WebElement> elements = Arrays.asList(driver.findElement(By.id("ready")),
+                driver.findElement(By.id("hidden")), driver.findElement(By.id("disabled")));
+        assertEquals("321", driver.States(elements));
+    }
+
+    @Test
+    public void StatesOfADetachedElementAreStale(){
+        FakeWebDriver driver = new FakeWebDriver();
+        FakeElement gone = driver.Body().Append("div").SetId("gone");
+        WebElement element = driver.findElement(By.id("gone"));
+        gone.Remove();
+        try{
+            driver.States(Arrays.asList(element));
+            fail("read the state of a removed element");
+        } catch (StaleElementReferenceException e) {
+            //As a browser would answer
+        }
+    }
+
+    @Test
+    public void ElementsTurnDisplayedOnTheDriversClock(){
+        VirtualClock clock = new VirtualClock();
+        FakeWebDriver driver = new FakeWebDriver(clock, clock, LatencyModels.None(), 0);
+        driver.Body().Append("div").SetId("late").DisplayedAfter(2, TimeUnit.SECONDS);
+        WebElement late = driver.findElement(By.id("late"));
+        assertEquals(false, late.isDisplayed());
+        clock.Advance(2, TimeUnit.SECONDS);
+        assertEquals(true, late.isDisplayed());
+    }
+}
@@ -0,0 +1,15 @@
+package java.com.jenkinsja.webdriverutils.fake;
+
+import java.util.Random;
+
+/**
+ * How long a command to a FakeWebDriver takes, standing in for the network and the browser.
+ * See LatencyModels for the usual distributions.
+ */
+public interface LatencyModel {
+
+    /**
+     * The latency of one command, such as findElement or isDisplayed, in nanoseconds
+     */
+    long SampleNanos(String command, Random random);
+}
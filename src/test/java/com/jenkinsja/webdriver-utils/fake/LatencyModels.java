@@ -0,0 +1,96 @@
+package java.com.jenkinsja.webdriverutils.fake;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distributions for a FakeWebDriver.
+ */
+public final class LatencyModels {
+
+    private LatencyModels(){
+    }
+
+    /**
+     * Every command answers at once
+     */
+    public static LatencyModel None(){
+        return Fixed(0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Every command takes the same time
+     */
+    public static LatencyModel Fixed(long latency, TimeUnit unit){
+        final long nanos = unit.toNanos(latency);
+        return new LatencyModel() {
+            @Override
+            public long SampleNanos(String command, Random random) {
+                return nanos;
+            }
+        };
+    }
+
+    /**
+     * Commands take anywhere from the minimum to the maximum, evenly spread
+     */
+    public static LatencyModel Uniform(long minimum, long maximum, TimeUnit unit){
+        final long minimumNanos = unit.toNanos(minimum);
+        final long spreadNanos = unit.toNanos(maximum) - minimumNanos;
+        return new LatencyModel() {
+            @Override
+            public long SampleNanos(String command, Random random) {
+                return minimumNanos + (long)(random.nextDouble() * spreadNanos);
+            }
+        };
+    }
+
+    /**
+     * Commands take the mean plus normally distributed jitter with the given standard
+     * deviation, never less than 0
+     */
+    public static LatencyModel Jittered(long mean, long jitter, TimeUnit unit){
+        final long meanNanos = unit.toNanos(mean);
+        final long jitterNanos = unit.toNanos(jitter);
+        return new LatencyModel() {
+            @Override
+            public long SampleNanos(String command, Random random) {
+                return Math.max(0, meanNanos + (long)(random.nextGaussian() * jitterNanos));
+            }
+        };
+    }
+
+    /**
+     * Commands take a log-normally distributed time around the median: mostly close to it,
+     * with a long tail of slow commands, like real remote round trips.
+     * A sigma of 0.5 puts the 99th percentile at about three times the median.
+     */
+    public static LatencyModel LogNormal(long median, double sigma, TimeUnit unit){
+        final long medianNanos = unit.toNanos(median);
+        final double spread = sigma;
+        return new LatencyModel() {
+            @Override
+            public long SampleNanos(String command, Random random) {
+                return (long)(medianNanos * Math.exp(random.nextGaussian() * spread));
+            }
+        };
+    }
+
+    /**
+     * Commands named in the map take their own latency, such as a slower executeScript,
+     * and the rest take the fallback's
+     */
+    public static LatencyModel PerCommand(LatencyModel fallback, Map<String, LatencyModel> byCommand){
+        final LatencyModel others = fallback;
+        final Map<String, LatencyModel> models = new HashMap<String, LatencyModel>(byCommand);
+        return new LatencyModel() {
+            @Override
+            public long SampleNanos(String command, Random random) {
+                LatencyModel model = models.get(command);
+                return (model != null ? model : others).SampleNanos(command, random);
+            }
+        };
+    }
+}
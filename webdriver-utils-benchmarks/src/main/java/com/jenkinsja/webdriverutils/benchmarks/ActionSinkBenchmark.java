@@ -0,0 +1,113 @@
+package com.jenkinsja.webdriverutils.benchmarks;
+
+import java.com.jenkinsja.webdriverutils.ActionSink;
+import java.com.jenkinsja.webdriverutils.ActionSinks;
+import java.com.jenkinsja.webdriverutils.AsyncActionSink;
+import java.com.jenkinsja.webdriverutils.LoggerActionSink;
+import java.com.jenkinsja.webdriverutils.PageObject;
+import java.com.jenkinsja.webdriverutils.fake.FakeWebDriver;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+/**
+ * The cost of reporting actions on ClickButton and SendKeys: with no sink, with the
+ * logger sink on a logger that is off, on one that takes INFO,
+ * and behind an AsyncActionSink
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActionSinkBenchmark {
+
+    @Param({"none", "logger-off", "logger", "async"})
+    public String sink;
+
+    private BenchmarkPage.Bare page;
+    private WebElement button;
+    private WebElement input;
+    private AsyncActionSink async;
+
+    @Setup
+    public void Setup(){
+        PageObject.SetDefaultActionSink(Sink());
+        FakeWebDriver driver = FakePages.Driver();
+        FakePages.AddElement(driver, "button", "button");
+        FakePages.AddElement(driver, "input", "input");
+        page = new BenchmarkPage.Bare(driver);
+        button = driver.findElement(By.id("button"));
+        input = driver.findElement(By.id("input"));
+    }
+
+    @TearDown
+    public void TearDown(){
+        if (async != null){
+            async.close();
+        }
+    }
+
+    private ActionSink Sink(){
+        Logger logger = Logger.getLogger(ActionSinkBenchmark.class.getName());
+        logger.setUseParentHandlers(false);
+        for (Handler handler : logger.getHandlers()){
+            logger.removeHandler(handler);
+        }
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                //Drop the record, the sink has built its message by now
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        switch (sink){
+            case "logger-off":
+                logger.setLevel(Level.OFF);
+                return new LoggerActionSink(logger, true);
+            case "logger":
+                logger.setLevel(Level.INFO);
+                return new LoggerActionSink(logger, true);
+            case "async":
+                logger.setLevel(Level.INFO);
+                async = new AsyncActionSink(new LoggerActionSink(logger, true));
+                return async;
+            default:
+                return ActionSinks.All();
+        }
+    }
+
+    @Benchmark
+    public BenchmarkPage.Bare ClickButton(){
+        return page.ClickButton(button, "button");
+    }
+
+    @Benchmark
+    public BenchmarkPage.Bare SendKeys(){
+        return page.SendKeys(input, "benchmark", "input");
+    }
+}
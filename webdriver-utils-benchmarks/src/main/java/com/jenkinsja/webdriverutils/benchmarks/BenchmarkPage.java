@@ -0,0 +1,33 @@
+package com.jenkinsja.webdriverutils.benchmarks;
+
+import java.com.jenkinsja.webdriverutils.LoadMode;
+import java.com.jenkinsja.webdriverutils.PageObject;
+import java.com.jenkinsja.webdriverutils.PollingWaitStrategy;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * A page object opening up its protected methods to the benchmarks
+ */
+class BenchmarkPage<T extends BenchmarkPage<T>> extends PageObject<T> {
+
+    BenchmarkPage(WebDriver driver){
+        super(driver, new PollingWaitStrategy(30, 500));
+    }
+
+    T Load(){
+        return WaitUntilLoaded();
+    }
+
+    T Mode(LoadMode mode){
+        return SetLoadMode(mode);
+    }
+
+    /**
+     * A page without fields, for finds and actions
+     */
+    static final class Bare extends BenchmarkPage<Bare> {
+        Bare(WebDriver driver){
+            super(driver);
+        }
+    }
+}
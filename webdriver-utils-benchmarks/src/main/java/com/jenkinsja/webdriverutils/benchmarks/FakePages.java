@@ -0,0 +1,70 @@
+package com.jenkinsja.webdriverutils.benchmarks;
+
+import java.com.jenkinsja.webdriverutils.FakeScripts;
+import java.com.jenkinsja.webdriverutils.fake.FakeElement;
+import java.com.jenkinsja.webdriverutils.fake.FakeWebDriver;
+import java.lang.reflect.Field;
+import java.util.List;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Builds the in-memory documents the benchmarks run against, and binds page fields to them.
+ */
+final class FakePages {
+
+    private FakePages(){
+    }
+
+    /**
+     * A driver answering at once, on an empty document, running the library's state reads
+     */
+    static FakeWebDriver Driver(){
+        return FakeScripts.Register(new FakeWebDriver());
+    }
+
+    /**
+     * Add a displayed, enabled element with the id
+     */
+    static FakeElement AddElement(FakeWebDriver driver, String tag, String id){
+        return driver.Body().Append(tag).SetId(id);
+    }
+
+    /**
+     * Add a list of the given size of displayed, enabled elements with the class
+     */
+    static FakeElement AddList(FakeWebDriver driver, String className, int size){
+        FakeElement list = driver.Body().Append("ul").SetId(className + "-list");
+        for (int i = 0; i < size; i++){
+            list.Append("li").SetAttribute("class", className).SetText(className + " " + i);
+        }
+        return list;
+    }
+
+    /**
+     * Set each element field of the page to the element with the field's name as id,
+     * and each list field to the elements with the field's name as class,
+     * found once so the benchmarks measure the page and not the finds
+     */
+    static <T> T Bind(T page, WebDriver driver){
+        try{
+            for (Class<?> type = page.getClass(); type != Object.class; type = type.getSuperclass()){
+                if (!type.getPackage().getName().equals(FakePages.class.getPackage().getName())){
+                    break;
+                }
+                for (Field field : type.getDeclaredFields()){
+                    field.setAccessible(true);
+                    if (field.getType() == WebElement.class){
+                        field.set(page, driver.findElement(By.id(field.getName())));
+                    } else if (field.getType() == List.class){
+                        field.set(page, driver.findElements(By.className(field.getName())));
+                    }
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+        return page;
+    }
+}
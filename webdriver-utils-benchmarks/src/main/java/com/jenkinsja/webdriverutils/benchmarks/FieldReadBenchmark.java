@@ -0,0 +1,76 @@
+package com.jenkinsja.webdriverutils.benchmarks;
+
+import java.com.jenkinsja.webdriverutils.fake.FakeWebDriver;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Reading every annotated field of a 256 field page, through accessible Fields as
+ * LoadPlan reads them, and through getters compiled to MethodHandles held in an
+ * array, unreflected, typed (Object)Object and invoked exactly.
+ * Handles not in static final fields are not constant-folded; this is the measurement
+ * LoadPlan's choice of Field.get rests on.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldReadBenchmark {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private HugePage page;
+    private Field[] fields;
+    private MethodHandle[] getters;
+
+    @Setup
+    public void Setup() throws IllegalAccessException {
+        FakeWebDriver driver = FakePages.Driver();
+        HugePage.AddTo(driver);
+        page = FakePages.Bind(new HugePage(driver), driver);
+        List<Field> annotated = new ArrayList<Field>();
+        for (Field field : HugePage.class.getDeclaredFields()){
+            if (field.getDeclaredAnnotations().length > 0){
+                field.setAccessible(true);
+                annotated.add(field);
+            }
+        }
+        fields = annotated.toArray(new Field[annotated.size()]);
+        getters = new MethodHandle[fields.length];
+        for (int i = 0; i < fields.length; i++){
+            getters[i] = MethodHandles.lookup().unreflectGetter(fields[i]).asType(GETTER_TYPE);
+        }
+    }
+
+    @Benchmark
+    public void FieldGet(Blackhole blackhole) throws IllegalAccessException {
+        for (Field field : fields){
+            blackhole.consume(field.get(page));
+        }
+    }
+
+    @Benchmark
+    public void CompiledGetters(Blackhole blackhole) throws Throwable {
+        for (MethodHandle getter : getters){
+            blackhole.consume((Object)getter.invokeExact((Object)page));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.jenkinsja.webdriverutils.benchmarks;
+
+import java.com.jenkinsja.webdriverutils.ActionSinks;
+import java.com.jenkinsja.webdriverutils.PageObject;
+import java.com.jenkinsja.webdriverutils.fake.FakeWebDriver;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+/**
+ * FindElement and FindElements from the page and from a root element, with action
+ * reporting on so the find events are built, against a document of the given size
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FindBenchmark {
+
+    private static final By ROW = By.className("row");
+    private static final By LAST = By.id("last");
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private BenchmarkPage.Bare page;
+    private WebElement root;
+
+    @Setup
+    public void Setup(){
+        PageObject.SetDefaultActionSink(ActionSinks.All());
+        FakeWebDriver driver = FakePages.Driver();
+        FakePages.AddList(driver, "row", size).Append("li").SetId("last");
+        page = new BenchmarkPage.Bare(driver);
+        root = driver.findElement(By.id("row-list"));
+    }
+
+    @Benchmark
+    public WebElement FindElement(){
+        return page.FindElement(LAST);
+    }
+
+    @Benchmark
+    public List<WebElement> FindElements(){
+        return page.FindElements(ROW);
+    }
+
+    @Benchmark
+    public WebElement FindElementUnderRoot(){
+        return page.FindElement(LAST, root);
+    }
+
+    @Benchmark
+    public List<WebElement> FindElementsUnderRoot(){
+        return page.FindElements(ROW, root);
+    }
+}
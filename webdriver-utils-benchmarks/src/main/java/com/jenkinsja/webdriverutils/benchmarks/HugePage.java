@@ -0,0 +1,538 @@
+package com.jenkinsja.webdriverutils.benchmarks;
+
+import java.com.jenkinsja.webdriverutils.Clickable;
+import java.com.jenkinsja.webdriverutils.Existence;
+import java.com.jenkinsja.webdriverutils.Visible;
+import java.com.jenkinsja.webdriverutils.fake.FakeWebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * A page with 256 fields, for seeing how the cost of reading fields grows with the page
+ */
+class HugePage extends BenchmarkPage<HugePage> {
+
+    static final int FIELDS = 256;
+
+    @Visible
+    private WebElement field000;
+    @Clickable
+    private WebElement field001;
+    @Existence
+    private WebElement field002;
+    @Visible
+    private WebElement field003;
+    @Clickable
+    private WebElement field004;
+    @Existence
+    private WebElement field005;
+    @Visible
+    private WebElement field006;
+    @Clickable
+    private WebElement field007;
+    @Existence
+    private WebElement field008;
+    @Visible
+    private WebElement field009;
+    @Clickable
+    private WebElement field010;
+    @Existence
+    private WebElement field011;
+    @Visible
+    private WebElement field012;
+    @Clickable
+    private WebElement field013;
+    @Existence
+    private WebElement field014;
+    @Visible
+    private WebElement field015;
+    @Clickable
+    private WebElement field016;
+    @Existence
+    private WebElement field017;
+    @Visible
+    private WebElement field018;
+    @Clickable
+    private WebElement field019;
+    @Existence
+    private WebElement field020;
+    @Visible
+    private WebElement field021;
+    @Clickable
+    private WebElement field022;
+    @Existence
+    private WebElement field023;
+    @Visible
+    private WebElement field024;
+    @Clickable
+    private WebElement field025;
+    @Existence
+    private WebElement field026;
+    @Visible
+    private WebElement field027;
+    @Clickable
+    private WebElement field028;
+    @Existence
+    private WebElement field029;
+    @Visible
+    private WebElement field030;
+    @Clickable
+    private WebElement field031;
+    @Existence
+    private WebElement field032;
+    @Visible
+    private WebElement field033;
+    @Clickable
+    private WebElement field034;
+    @Existence
+    private WebElement field035;
+    @Visible
+    private WebElement field036;
+    @Clickable
+    private WebElement field037;
+    @Existence
+    private WebElement field038;
+    @Visible
+    private WebElement field039;
+    @Clickable
+    private WebElement field040;
+    @Existence
+    private WebElement field041;
+    @Visible
+    private WebElement field042;
+    @Clickable
+    private WebElement field043;
+    @Existence
+    private WebElement field044;
+    @Visible
+    private WebElement field045;
+    @Clickable
+    private WebElement field046;
+    @Existence
+    private WebElement field047;
+    @Visible
+    private WebElement field048;
+    @Clickable
+    private WebElement field049;
+    @Existence
+    private WebElement field050;
+    @Visible
+    private WebElement field051;
+    @Clickable
+    private WebElement field052;
+    @Existence
+    private WebElement field053;
+    @Visible
+    private WebElement field054;
+    @Clickable
+    private WebElement field055;
+    @Existence
+    private WebElement field056;
+    @Visible
+    private WebElement field057;
+    @Clickable
+    private WebElement field058;
+    @Existence
+    private WebElement field059;
+    @Visible
+    private WebElement field060;
+    @Clickable
+    private WebElement field061;
+    @Existence
+    private WebElement field062;
+    @Visible
+    private WebElement field063;
+    @Clickable
+    private WebElement field064;
+    @Existence
+    private WebElement field065;
+    @Visible
+    private WebElement field066;
+    @Clickable
+    private WebElement field067;
+    @Existence
+    private WebElement field068;
+    @Visible
+    private WebElement field069;
+    @Clickable
+    private WebElement field070;
+    @Existence
+    private WebElement field071;
+    @Visible
+    private WebElement field072;
+    @Clickable
+    private WebElement field073;
+    @Existence
+    private WebElement field074;
+    @Visible
+    private WebElement field075;
+    @Clickable
+    private WebElement field076;
+    @Existence
+    private WebElement field077;
+    @Visible
+    private WebElement field078;
+    @Clickable
+    private WebElement field079;
+    @Existence
+    private WebElement field080;
+    @Visible
+    private WebElement field081;
+    @Clickable
+    private WebElement field082;
+    @Existence
+    private WebElement field083;
+    @Visible
+    private WebElement field084;
+    @Clickable
+    private WebElement field085;
+    @Existence
+    private WebElement field086;
+    @Visible
+    private WebElement field087;
+    @Clickable
+    private WebElement field088;
+    @Existence
+    private WebElement field089;
+    @Visible
+    private WebElement field090;
+    @Clickable
+    private WebElement field091;
+    @Existence
+    private WebElement field092;
+    @Visible
+    private WebElement field093;
+    @Clickable
+    private WebElement field094;
+    @Existence
+    private WebElement field095;
+    @Visible
+    private WebElement field096;
+    @Clickable
+    private WebElement field097;
+    @Existence
+    private WebElement field098;
+    @Visible
+    private WebElement field099;
+    @Clickable
+    private WebElement field100;
+    @Existence
+    private WebElement field101;
+    @Visible
+    private WebElement field102;
+    @Clickable
+    private WebElement field103;
+    @Existence
+    private WebElement field104;
+    @Visible
+    private WebElement field105;
+    @Clickable
+    private WebElement field106;
+    @Existence
+    private WebElement field107;
+    @Visible
+    private WebElement field108;
+    @Clickable
+    private WebElement field109;
+    @Existence
+    private WebElement field110;
+    @Visible
+    private WebElement field111;
+    @Clickable
+    private WebElement field112;
+    @Existence
+    private WebElement field113;
+    @Visible
+    private WebElement field114;
+    @Clickable
+    private WebElement field115;
+    @Existence
+    private WebElement field116;
+    @Visible
+    private WebElement field117;
+    @Clickable
+    private WebElement field118;
+    @Existence
+    private WebElement field119;
+    @Visible
+    private WebElement field120;
+    @Clickable
+    private WebElement field121;
+    @Existence
+    private WebElement field122;
+    @Visible
+    private WebElement field123;
+    @Clickable
+    private WebElement field124;
+    @Existence
+    private WebElement field125;
+    @Visible
+    private WebElement field126;
+    @Clickable
+    private WebElement field127;
+    @Existence
+    private WebElement field128;
+    @Visible
+    private WebElement field129;
+    @Clickable
+    private WebElement field130;
+    @Existence
+    private WebElement field131;
+    @Visible
+    private WebElement field132;
+    @Clickable
+    private WebElement field133;
+    @Existence
+    private WebElement field134;
+    @Visible
+    private WebElement field135;
+    @Clickable
+    private WebElement field136;
+    @Existence
+    private WebElement field137;
+    @Visible
+    private WebElement field138;
+    @Clickable
+    private WebElement field139;
+    @Existence
+    private WebElement field140;
+    @Visible
+    private WebElement field141;
+    @Clickable
+    private WebElement field142;
+    @Existence
+    private WebElement field143;
+    @Visible
+    private WebElement field144;
+    @Clickable
+    private WebElement field145;
+    @Existence
+    private WebElement field146;
+    @Visible
+    private WebElement field147;
+    @Clickable
+    private WebElement field148;
+    @Existence
+    private WebElement field149;
+    @Visible
+    private WebElement field150;
+    @Clickable
+    private WebElement field151;
+    @Existence
+    private WebElement field152;
+    @Visible
+    private WebElement field153;
+    @Clickable
+    private WebElement field154;
+    @Existence
+    private WebElement field155;
+    @Visible
+    private WebElement field156;
+    @Clickable
+    private WebElement field157;
+    @Existence
+    private WebElement field158;
+    @Visible
+    private WebElement field159;
+    @Clickable
+    private WebElement field160;
+    @Existence
+    private WebElement field161;
+    @Visible
+    private WebElement field162;
+    @Clickable
+    private WebElement field163;
+    @Existence
+    private WebElement field164;
+    @Visible
+    private WebElement field165;
+    @Clickable
+    private WebElement field166;
+    @Existence
+    private WebElement field167;
+    @Visible
+    private WebElement field168;
+    @Clickable
+    private WebElement field169;
+    @Existence
+    private WebElement field170;
+    @Visible
+    private WebElement field171;
+    @Clickable
+    private WebElement field172;
+    @Existence
+    private WebElement field173;
+    @Visible
+    private WebElement field174;
+    @Clickable
+    private WebElement field175;
+    @Existence
+    private WebElement field176;
+    @Visible
+    private WebElement field177;
+    @Clickable
+    private WebElement field178;
+    @Existence
+    private WebElement field179;
+    @Visible
+    private WebElement field180;
+    @Clickable
+    private WebElement field181;
+    @Existence
+    private WebElement field182;
+    @Visible
+    private WebElement field183;
+    @Clickable
+    private WebElement field184;
+    @Existence
+    private WebElement field185;
+    @Visible
+    private WebElement field186;
+    @Clickable
+    private WebElement field187;
+    @Existence
+    private WebElement field188;
+    @Visible
+    private WebElement field189;
+    @Clickable
+    private WebElement field190;
+    @Existence
+    private WebElement field191;
+    @Visible
+    private WebElement field192;
+    @Clickable
+    private WebElement field193;
+    @Existence
+    private WebElement field194;
+    @Visible
+    private WebElement field195;
+    @Clickable
+    private WebElement field196;
+    @Existence
+    private WebElement field197;
+    @Visible
+    private WebElement field198;
+    @Clickable
+    private WebElement field199;
+    @Existence
+    private WebElement field200;
+    @Visible
+    private WebElement field201;
+    @Clickable
+    private WebElement field202;
+    @Existence
+    private WebElement field203;
+    @Visible
+    private WebElement field204;
+    @Clickable
+    private WebElement field205;
+    @Existence
+    private WebElement field206;
+    @Visible
+    private WebElement field207;
+    @Clickable
+    private WebElement field208;
+    @Existence
+    private WebElement field209;
+    @Visible
+    private WebElement field210;
+    @Clickable
+    private WebElement field211;
+    @Existence
+    private WebElement field212;
+    @Visible
+    private WebElement field213;
+    @Clickable
+    private WebElement field214;
+    @Existence
+    private WebElement field215;
+    @Visible
+    private WebElement field216;
+    @Clickable
+    private WebElement field217;
+    @Existence
+    private WebElement field218;
+    @Visible
+    private WebElement field219;
+    @Clickable
+    private WebElement field220;
+    @Existence
+    private WebElement field221;
+    @Visible
+    private WebElement field222;
+    @Clickable
+    private WebElement field223;
+    @Existence
+    private WebElement field224;
+    @Visible
+    private WebElement field225;
+    @Clickable
+    private WebElement field226;
+    @Existence
+    private WebElement field227;
+    @Visible
+    private WebElement field228;
+    @Clickable
+    private WebElement field229;
+    @Existence
+    private WebElement field230;
+    @Visible
+    private WebElement field231;
+    @Clickable
+    private WebElement field232;
+    @Existence
+    private WebElement field233;
+    @Visible
+    private WebElement field234;
+    @Clickable
+    private WebElement field235;
+    @Existence
+    private WebElement field236;
+    @Visible
+    private WebElement field237;
+    @Clickable
+    private WebElement field238;
+    @Existence
+    private WebElement field239;
+    @Visible
+    private WebElement field240;
+    @Clickable
+    private WebElement field241;
+    @Existence
+    private WebElement field242;
+    @Visible
+    private WebElement field243;
+    @Clickable
+    private WebElement field244;
+    @Existence
+    private WebElement field245;
+    @Visible
+    private WebElement field246;
+    @Clickable
+    private WebElement field247;
+    @Existence
+    private WebElement field248;
+    @Visible
+    private WebElement field249;
+    @Clickable
+    private WebElement field250;
+    @Existence
+    private WebElement field251;
+    @Visible
+    private WebElement field252;
+    @Clickable
+    private WebElement field253;
+    @Existence
+    private WebElement field254;
+    @Visible
+    private WebElement field255;
+
+    HugePage(FakeWebDriver driver){
+        super(driver);
+    }
+
+    static void AddTo(FakeWebDriver driver){
+        for (int i = 0; i < FIELDS; i++){
+            FakePages.AddElement(driver, i % 3 == 1 ? "button" : "div", String.format("field%03d", i));
+        }
+    }
+}
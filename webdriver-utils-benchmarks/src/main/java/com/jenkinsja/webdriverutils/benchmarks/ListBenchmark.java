@@ -0,0 +1,56 @@
+package com.jenkinsja.webdriverutils.benchmarks;
+
+import java.com.jenkinsja.webdriverutils.ActionSinks;
+import java.com.jenkinsja.webdriverutils.PageObject;
+import java.com.jenkinsja.webdriverutils.fake.FakeWebDriver;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loading a list field through ElementsVisible and ElementsClickable, which read the
+ * states of the whole list in one batch
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private ListPages.VisibleList visible;
+    private ListPages.ClickableList clickable;
+
+    @Setup
+    public void Setup(){
+        PageObject.SetDefaultActionSink(ActionSinks.All());
+        FakeWebDriver driver = FakePages.Driver();
+        FakePages.AddList(driver, "visibleRow", size);
+        FakePages.AddList(driver, "clickableRow", size);
+        visible = FakePages.Bind(new ListPages.VisibleList(driver), driver);
+        clickable = FakePages.Bind(new ListPages.ClickableList(driver), driver);
+    }
+
+    @Benchmark
+    public ListPages.VisibleList ElementsVisible(){
+        return visible.Load();
+    }
+
+    @Benchmark
+    public ListPages.ClickableList ElementsClickable(){
+        return clickable.Load();
+    }
+}
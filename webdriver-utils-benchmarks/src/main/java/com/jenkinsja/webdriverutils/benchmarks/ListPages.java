@@ -0,0 +1,34 @@
+package com.jenkinsja.webdriverutils.benchmarks;
+
+import java.com.jenkinsja.webdriverutils.Clickable;
+import java.com.jenkinsja.webdriverutils.Visible;
+import java.util.List;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Pages with one large list field, loaded through ElementsVisible or ElementsClickable
+ */
+final class ListPages {
+
+    private ListPages(){
+    }
+
+    static final class VisibleList extends BenchmarkPage<VisibleList> {
+        @Visible
+        private List<WebElement> visibleRow;
+
+        VisibleList(WebDriver driver){
+            super(driver);
+        }
+    }
+
+    static final class ClickableList extends BenchmarkPage<ClickableList> {
+        @Clickable
+        private List<WebElement> clickableRow;
+
+        ClickableList(WebDriver driver){
+            super(driver);
+        }
+    }
+}
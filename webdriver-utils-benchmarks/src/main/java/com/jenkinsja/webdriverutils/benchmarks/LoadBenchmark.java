@@ -0,0 +1,65 @@
+package com.jenkinsja.webdriverutils.benchmarks;
+
+import java.com.jenkinsja.webdriverutils.ActionSinks;
+import java.com.jenkinsja.webdriverutils.LoadMode;
+import java.com.jenkinsja.webdriverutils.PageObject;
+import java.com.jenkinsja.webdriverutils.fake.FakeWebDriver;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * WaitUntilLoaded on a page whose fields are all ready, so only the framework's own
+ * cost is measured: reading the fields, building the conditions, and one check each
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadBenchmark {
+
+    @Param({"SEQUENTIAL", "SHARED_DEADLINE"})
+    public LoadMode mode;
+
+    private NarrowPage narrow;
+    private WidePage wide;
+    private HugePage huge;
+
+    @Setup
+    public void Setup(){
+        PageObject.SetDefaultActionSink(ActionSinks.All());
+        FakeWebDriver driver = FakePages.Driver();
+        NarrowPage.AddTo(driver);
+        WidePage.AddTo(driver);
+        HugePage.AddTo(driver);
+        narrow = FakePages.Bind(new NarrowPage(driver), driver).Mode(mode);
+        wide = FakePages.Bind(new WidePage(driver), driver).Mode(mode);
+        huge = FakePages.Bind(new HugePage(driver), driver).Mode(mode);
+    }
+
+    @Benchmark
+    public NarrowPage Narrow(){
+        return narrow.Load();
+    }
+
+    @Benchmark
+    public WidePage Wide(){
+        return wide.Load();
+    }
+
+    @Benchmark
+    public HugePage Huge(){
+        return huge.Load();
+    }
+}
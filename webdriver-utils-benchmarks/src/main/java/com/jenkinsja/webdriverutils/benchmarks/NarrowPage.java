@@ -0,0 +1,30 @@
+package com.jenkinsja.webdriverutils.benchmarks;
+
+import java.com.jenkinsja.webdriverutils.Clickable;
+import java.com.jenkinsja.webdriverutils.Existence;
+import java.com.jenkinsja.webdriverutils.Visible;
+import java.com.jenkinsja.webdriverutils.fake.FakeWebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * A page with a handful of fields, as most pages have
+ */
+class NarrowPage extends BenchmarkPage<NarrowPage> {
+
+    @Visible
+    private WebElement heading;
+    @Clickable
+    private WebElement submit;
+    @Existence
+    private WebElement footer;
+
+    NarrowPage(FakeWebDriver driver){
+        super(driver);
+    }
+
+    static void AddTo(FakeWebDriver driver){
+        FakePages.AddElement(driver, "h1", "heading");
+        FakePages.AddElement(driver, "button", "submit");
+        FakePages.AddElement(driver, "div", "footer");
+    }
+}
@@ -0,0 +1,76 @@
+package com.jenkinsja.webdriverutils.benchmarks;
+
+import com.google.common.base.Function;
+import java.com.jenkinsja.webdriverutils.ParkingSleeper;
+import java.com.jenkinsja.webdriverutils.PollingWaitStrategy;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Duration;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.SystemClock;
+
+/**
+ * The system sleeper against the ParkingSleeper: how long a sleep of the interval
+ * really takes, and how long after a condition turns true a wait polling at the
+ * interval notices
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SleeperBenchmark {
+
+    /**
+     * How long after the start of each wait its condition turns true
+     */
+    private static final long READY_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    @Param({"system", "park"})
+    public String sleeper;
+
+    @Param({"100", "500", "1000"})
+    public long intervalMicros;
+
+    private Sleeper chosen;
+    private Duration interval;
+    private PollingWaitStrategy strategy;
+
+    @Setup
+    public void Setup(){
+        chosen = sleeper.equals("park") ? new ParkingSleeper() : Sleeper.SYSTEM_SLEEPER;
+        interval = new Duration(intervalMicros, TimeUnit.MICROSECONDS);
+        strategy = new PollingWaitStrategy(new SystemClock(), chosen, 30, intervalMicros, TimeUnit.MICROSECONDS);
+    }
+
+    @Benchmark
+    public void Sleep() throws InterruptedException {
+        chosen.sleep(interval);
+    }
+
+    /**
+     * The wait's time beyond READY_NANOS is the latency the sleeper adds
+     */
+    @Benchmark
+    public Boolean Wait(){
+        final long readyAt = System.nanoTime() + READY_NANOS;
+        return strategy.Until(null, SleeperBenchmark.class, "ready", new Function<WebDriver, Boolean>() {
+            @Override
+            public Boolean apply(WebDriver driver) {
+                return System.nanoTime() >= readyAt;
+            }
+        });
+    }
+}
@@ -0,0 +1,154 @@
+package com.jenkinsja.webdriverutils.benchmarks;
+
+import java.com.jenkinsja.webdriverutils.Clickable;
+import java.com.jenkinsja.webdriverutils.Existence;
+import java.com.jenkinsja.webdriverutils.Visible;
+import java.com.jenkinsja.webdriverutils.fake.FakeWebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * A page with 64 fields, as large forms and dashboards have
+ */
+class WidePage extends BenchmarkPage<WidePage> {
+
+    static final int FIELDS = 64;
+
+    @Visible
+    private WebElement field00;
+    @Clickable
+    private WebElement field01;
+    @Existence
+    private WebElement field02;
+    @Visible
+    private WebElement field03;
+    @Clickable
+    private WebElement field04;
+    @Existence
+    private WebElement field05;
+    @Visible
+    private WebElement field06;
+    @Clickable
+    private WebElement field07;
+    @Existence
+    private WebElement field08;
+    @Visible
+    private WebElement field09;
+    @Clickable
+    private WebElement field10;
+    @Existence
+    private WebElement field11;
+    @Visible
+    private WebElement field12;
+    @Clickable
+    private WebElement field13;
+    @Existence
+    private WebElement field14;
+    @Visible
+    private WebElement field15;
+    @Clickable
+    private WebElement field16;
+    @Existence
+    private WebElement field17;
+    @Visible
+    private WebElement field18;
+    @Clickable
+    private WebElement field19;
+    @Existence
+    private WebElement field20;
+    @Visible
+    private WebElement field21;
+    @Clickable
+    private WebElement field22;
+    @Existence
+    private WebElement field23;
+    @Visible
+    private WebElement field24;
+    @Clickable
+    private WebElement field25;
+    @Existence
+    private WebElement field26;
+    @Visible
+    private WebElement field27;
+    @Clickable
+    private WebElement field28;
+    @Existence
+    private WebElement field29;
+    @Visible
+    private WebElement field30;
+    @Clickable
+    private WebElement field31;
+    @Existence
+    private WebElement field32;
+    @Visible
+    private WebElement field33;
+    @Clickable
+    private WebElement field34;
+    @Existence
+    private WebElement field35;
+    @Visible
+    private WebElement field36;
+    @Clickable
+    private WebElement field37;
+    @Existence
+    private WebElement field38;
+    @Visible
+    private WebElement field39;
+    @Clickable
+    private WebElement field40;
+    @Existence
+    private WebElement field41;
+    @Visible
+    private WebElement field42;
+    @Clickable
+    private WebElement field43;
+    @Existence
+    private WebElement field44;
+    @Visible
+    private WebElement field45;
+    @Clickable
+    private WebElement field46;
+    @Existence
+    private WebElement field47;
+    @Visible
+    private WebElement field48;
+    @Clickable
+    private WebElement field49;
+    @Existence
+    private WebElement field50;
+    @Visible
+    private WebElement field51;
+    @Clickable
+    private WebElement field52;
+    @Existence
+    private WebElement field53;
+    @Visible
+    private WebElement field54;
+    @Clickable
+    private WebElement field55;
+    @Existence
+    private WebElement field56;
+    @Visible
+    private WebElement field57;
+    @Clickable
+    private WebElement field58;
+    @Existence
+    private WebElement field59;
+    @Visible
+    private WebElement field60;
+    @Clickable
+    private WebElement field61;
+    @Existence
+    private WebElement field62;
+    @Visible
+    private WebElement field63;
+
+    WidePage(FakeWebDriver driver){
+        super(driver);
+    }
+
+    static void AddTo(FakeWebDriver driver){
+        for (int i = 0; i < FIELDS; i++){
+            FakePages.AddElement(driver, i % 3 == 1 ? "button" : "div", String.format("field%02d", i));
+        }
+    }
+}
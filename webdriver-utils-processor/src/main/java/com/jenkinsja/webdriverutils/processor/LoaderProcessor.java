@@ -0,0 +1,258 @@
+package com.jenkinsja.webdriverutils.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a PageLoader for each concrete class extending PageObject.
+ * The generated loader, named after the page's binary name with $$Loader added,
+ * such as Outer$Page$$Loader, reads every annotated field directly, so
+ * WaitUntilLoaded needs no reflection for that page.
+ * Pages with annotated fields the loader cannot reach (private fields, or
+ * non-public fields inherited from another package) get no loader and keep
+ * using reflection, with a warning naming the field.
+ */
+@SupportedAnnotationTypes("*")
+public class LoaderProcessor extends AbstractProcessor {
+
+    private static final String PACKAGE = "java.com.jenkinsja.webdriverutils";
+    private static final String PAGE_OBJECT = PACKAGE + ".PageObject";
+    private static final String PAGE_LOADER = PACKAGE + ".PageLoader";
+    private static final String FIELD_VISITOR = PACKAGE + ".FieldVisitor";
+    private static final String FIELD_CONDITION = PACKAGE + ".FieldCondition";
+    private static final String SUFFIX = "$$Loader";
+    private static final String WEB_ELEMENT = "org.openqa.selenium.WebElement";
+
+    /**
+     * One annotated field the generated loader visits
+     */
+    private static final class LoadedField {
+        final VariableElement field;
+        final TypeElement owner;
+        final String condition;
+        final boolean list;
+
+        LoadedField(VariableElement field, TypeElement owner, String condition, boolean list){
+            this.field = field;
+            this.owner = owner;
+            this.condition = condition;
+            this.list = list;
+        }
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())){
+            ProcessType(type);
+        }
+        return false;
+    }
+
+    private void ProcessType(TypeElement type){
+        for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())){
+            ProcessType(nested);
+        }
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)
+                || !IsReachable(type) || !ExtendsPageObject(type)){
+            return;
+        }
+        List<LoadedField> fields = CollectFields(type);
+        if (fields != null && !fields.isEmpty()){
+            WriteLoader(type, fields);
+        }
+    }
+
+    /**
+     * Generated code can only name classes that are not private and not local
+     */
+    private static boolean IsReachable(TypeElement type){
+        for (Element current = type; current instanceof TypeElement; current = current.getEnclosingElement()){
+            NestingKind nesting = ((TypeElement)current).getNestingKind();
+            if (current.getModifiers().contains(Modifier.PRIVATE)
+                    || nesting == NestingKind.LOCAL || nesting == NestingKind.ANONYMOUS){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean ExtendsPageObject(TypeElement type){
+        for (TypeElement current = Superclass(type); current != null; current = Superclass(current)){
+            if (current.getQualifiedName().contentEquals(PAGE_OBJECT)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static TypeElement Superclass(TypeElement type){
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED){
+            return null;
+        }
+        return (TypeElement)((DeclaredType)superclass).asElement();
+    }
+
+    /**
+     * The annotated fields of the page, superclass fields first,
+     * or null if one of them cannot be read from generated code
+     */
+    private List<LoadedField> CollectFields(TypeElement type){
+        Deque<TypeElement> hierarchy = new ArrayDeque<TypeElement>();
+        for (TypeElement current = type; current != null && !current.getQualifiedName().contentEquals(PAGE_OBJECT); current = Superclass(current)){
+            hierarchy.push(current);
+        }
+        PackageElement pagePackage = processingEnv.getElementUtils().getPackageOf(type);
+        List<LoadedField> fields = new ArrayList<LoadedField>();
+        for (TypeElement owner : hierarchy){
+            for (VariableElement field : ElementFilter.fieldsIn(owner.getEnclosedElements())){
+                if (field.getModifiers().contains(Modifier.STATIC)){
+                    continue;
+                }
+                for (AnnotationMirror annotation : field.getAnnotationMirrors()){
+                    String condition = ConditionOf(annotation);
+                    if (condition == null){
+                        continue;
+                    }
+                    if (!IsAccessible(field, owner, pagePackage)){
+                        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                                "No loader generated for " + type.getQualifiedName() + ", " + owner.getQualifiedName()
+                                + "." + field.getSimpleName() + " is not accessible to it; the page will be loaded through reflection",
+                                field);
+                        return null;
+                    }
+                    if (IsAssignable(field, WEB_ELEMENT)){
+                        fields.add(new LoadedField(field, owner, condition, false));
+                    } else if (IsAssignable(field, "java.util.List")){
+                        fields.add(new LoadedField(field, owner, condition, true));
+                    } else {
+                        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                                "Ignoring " + field.getSimpleName() + ", it is neither a WebElement nor a List", field);
+                    }
+                }
+            }
+        }
+        return fields;
+    }
+
+    private static String ConditionOf(AnnotationMirror annotation){
+        String name = ((TypeElement)annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+        if (name.equals(PACKAGE + ".Clickable")){
+            return "CLICKABLE";
+        } else if (name.equals(PACKAGE + ".Existence")){
+            return "EXISTENCE";
+        } else if (name.equals(PACKAGE + ".Visible")){
+            return "VISIBLE";
+        }
+        return null;
+    }
+
+    private boolean IsAccessible(VariableElement field, TypeElement owner, PackageElement pagePackage){
+        if (field.getModifiers().contains(Modifier.PRIVATE)){
+            return false;
+        }
+        return field.getModifiers().contains(Modifier.PUBLIC) && owner.getModifiers().contains(Modifier.PUBLIC)
+                || processingEnv.getElementUtils().getPackageOf(owner).equals(pagePackage);
+    }
+
+    private boolean IsAssignable(VariableElement field, String typeName){
+        TypeElement target = processingEnv.getElementUtils().getTypeElement(typeName);
+        if (target == null){
+            return false;
+        }
+        return processingEnv.getTypeUtils().isAssignable(
+                processingEnv.getTypeUtils().erasure(field.asType()),
+                processingEnv.getTypeUtils().erasure(target.asType()));
+    }
+
+    private void WriteLoader(TypeElement type, List<LoadedField> fields){
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String loaderName = BinarySimpleName(type, packageName) + SUFFIX;
+        String pageType = PageType(type);
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()){
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n")
+                .append(" * Loader for ").append(type.getQualifiedName()).append(", generated by LoaderProcessor.\n")
+                .append(" */\n")
+                .append("public final class ").append(loaderName)
+                .append(" implements ").append(PAGE_LOADER).append("<").append(pageType).append("> {\n\n")
+                .append("    @Override\n")
+                .append("    @SuppressWarnings(\"unchecked\")\n")
+                .append("    public void Load(").append(pageType).append(" page, ").append(FIELD_VISITOR).append(" visitor){\n");
+        for (LoadedField field : fields){
+            String read = field.owner.equals(type)
+                    ? "page." + field.field.getSimpleName()
+                    : "((" + field.owner.getQualifiedName() + ")page)." + field.field.getSimpleName();
+            source.append("        visitor.")
+                    .append(field.list ? "VisitElements" : "VisitElement")
+                    .append("(\"").append(field.field.getSimpleName()).append("\", ")
+                    .append(FIELD_CONDITION).append(".").append(field.condition).append(", ")
+                    .append(field.list ? "(java.util.List<" + WEB_ELEMENT + ">)(java.util.List<?>)" + read : read)
+                    .append(");\n");
+        }
+        source.append("    }\n")
+                .append("}\n");
+        String qualifiedName = packageName.isEmpty() ? loaderName : packageName + "." + loaderName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()){
+            writer.write(source.toString());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write " + qualifiedName + ": " + e.getMessage(), type);
+        }
+    }
+
+    /**
+     * The binary name of the class below its package, nested names joined by '$',
+     * matching the name WaitUntilLoaded looks the loader up by.
+     * Unlike joining by '_', no two classes share it.
+     */
+    private String BinarySimpleName(TypeElement type, String packageName){
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        return packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+    }
+
+    /**
+     * The page type as the loader names it, with wildcards for any type parameters
+     */
+    private static String PageType(TypeElement type){
+        StringBuilder name = new StringBuilder(type.getQualifiedName());
+        int parameters = type.getTypeParameters().size();
+        if (parameters > 0){
+            name.append('<');
+            for (int i = 0; i < parameters; i++){
+                name.append(i == 0 ? "?" : ", ?");
+            }
+            name.append('>');
+        }
+        return name.toString();
+    }
+}